@@ -1,6 +1,11 @@
 package com.scheduler.app;
 
 import com.scheduler.config.SchedulerConfiguration;
+import com.scheduler.scheduler.BacktrackStrategy;
+import com.scheduler.scheduler.BacktrackingEngine;
+import com.scheduler.scheduler.ConsistencyLevel;
+import com.scheduler.scheduler.RestartStrategy;
+import com.scheduler.scheduler.VariableOrdering;
 
 import java.nio.file.Paths;
 import java.util.HashMap;
@@ -64,10 +69,59 @@ public class CommandLineParser {
         if (arguments.containsKey("max-iterations")) {
             builder.maxIterations(Integer.parseInt(arguments.get("max-iterations")));
         }
+        if (arguments.containsKey("consistency")) {
+            builder.consistencyLevel(parseEnum(ConsistencyLevel.class, arguments.get("consistency")));
+        }
+        if (arguments.containsKey("ordering")) {
+            builder.variableOrdering(parseEnum(VariableOrdering.class, arguments.get("ordering")));
+        }
+        if (arguments.containsKey("engine")) {
+            builder.engine(parseEnum(BacktrackingEngine.class, arguments.get("engine")));
+        }
+        if (arguments.containsKey("workers")) {
+            builder.workers(Integer.parseInt(arguments.get("workers")));
+        }
+        if (arguments.containsKey("split-depth")) {
+            builder.splitDepth(Integer.parseInt(arguments.get("split-depth")));
+        }
+        if (arguments.containsKey("backtracking")) {
+            builder.backtrackStrategy(parseEnum(BacktrackStrategy.class, arguments.get("backtracking")));
+        }
+        if (arguments.containsKey("decompose")) {
+            builder.decompose(Boolean.parseBoolean(arguments.get("decompose")));
+        }
+        if (arguments.containsKey("optimize")) {
+            builder.optimizeSeconds(parseTimeout(arguments.get("optimize")));
+        }
+        if (arguments.containsKey("repair")) {
+            builder.repairSeconds(parseTimeout(arguments.get("repair")));
+        }
+        if (arguments.containsKey("restarts")) {
+            builder.restartStrategy(parseEnum(RestartStrategy.class, arguments.get("restarts")));
+        }
+        if (arguments.containsKey("restart-base")) {
+            builder.restartBase(Integer.parseInt(arguments.get("restart-base")));
+        }
+        if (arguments.containsKey("feasibility")) {
+            builder.feasibilityCheck(Boolean.parseBoolean(arguments.get("feasibility")));
+        }
+        if (arguments.containsKey("two-phase")) {
+            builder.twoPhase(Boolean.parseBoolean(arguments.get("two-phase")));
+        }
+        if (arguments.containsKey("symmetry")) {
+            builder.symmetryBreaking(Boolean.parseBoolean(arguments.get("symmetry")));
+        }
 
         return builder.build();
     }
 
+    /**
+     * Parses an enum option written in lower-case with hyphens (e.g. "forward-checking").
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        return Enum.valueOf(type, value.trim().toUpperCase().replace('-', '_'));
+    }
+
     private static long parseTimeout(String timeout) {
         timeout = timeout.trim().toLowerCase();
         
@@ -96,6 +150,20 @@ public class CommandLineParser {
         System.out.println("  --timeout <time>          Timeout (e.g., 10s, 5m, 120) (default: 60s)");
         System.out.println("  --seed <number>           Random seed for deterministic runs");
         System.out.println("  --max-iterations <number> Maximum backtracking iterations (default: 10000)");
+        System.out.println("  --consistency <level>     none, forward-checking or arc-consistency (default: none)");
+        System.out.println("  --ordering <strategy>     static, mrv-degree or dom-wdeg (default: static)");
+        System.out.println("  --engine <engine>         recursive or iterative (default: recursive)");
+        System.out.println("  --workers <number>        Parallel workers (default: 1)");
+        System.out.println("  --split-depth <number>    Search levels split into parallel subtrees (default: 0)");
+        System.out.println("  --backtracking <strategy> chronological or conflict-directed (default: chronological)");
+        System.out.println("  --decompose <bool>        Schedule independent course groups separately (default: false)");
+        System.out.println("  --optimize <time>         Local search time for soft constraints (default: 0, off)");
+        System.out.println("  --repair <time>           Part of the timeout reserved to place unscheduled courses by neighbourhood search, shorter than the timeout (default: 0, off)");
+        System.out.println("  --restarts <strategy>     none, luby or geometric (default: none)");
+        System.out.println("  --restart-base <number>   Nodes in the first restart run (default: 100)");
+        System.out.println("  --feasibility <bool>      Explain by matching why the courses cannot all fit (default: false)");
+        System.out.println("  --two-phase <bool>        Search times only and match single-slot courses to rooms per slot (default: false)");
+        System.out.println("  --symmetry <bool>         Try one of several identical empty rooms only (default: false)");
         System.out.println("  --help                    Show this help message");
         System.out.println();
         System.out.println("Examples:");
@@ -13,6 +13,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Main application entry point for the Course Timetable Scheduler.
@@ -56,10 +57,29 @@ public class SchedulerApplication {
                 .timeoutMillis(config.getTimeoutSeconds() * 1000)
                 .seed(config.getSeed())
                 .maxIterations(config.getMaxIterations())
+                .consistencyLevel(config.getConsistencyLevel())
+                .variableOrdering(config.getVariableOrdering())
+                .engine(config.getEngine())
+                .workers(config.getWorkers())
+                .splitDepth(config.getSplitDepth())
+                .backtrackStrategy(config.getBacktrackStrategy())
+                .optimizationMillis(config.getOptimizeSeconds() * 1000)
+                .repairMillis(config.getRepairSeconds() * 1000)
+                .restartStrategy(config.getRestartStrategy())
+                .restartBase(config.getRestartBase())
+                .feasibilityCheck(config.isFeasibilityCheck())
+                .twoPhase(config.isTwoPhase())
+                .symmetryBreaking(config.isSymmetryBreaking())
                 .build();
 
             ConstraintValidator validator = ConstraintValidator.withDefaultConstraints();
-            BacktrackingScheduler scheduler = new BacktrackingScheduler(schedulerConfig, validator);
+            Function<SchedulerConfig, Scheduler> searchScheduler = componentConfig ->
+                componentConfig.getWorkers() > 1 && componentConfig.getSplitDepth() == 0
+                    ? new PortfolioScheduler(componentConfig, validator)
+                    : new BacktrackingScheduler(componentConfig, validator);
+            Scheduler scheduler = config.isDecompose()
+                ? new ComponentScheduler(schedulerConfig, searchScheduler)
+                : searchScheduler.apply(schedulerConfig);
 
             // Run scheduling
             System.out.println("Starting scheduling process...");
@@ -68,6 +88,20 @@ public class SchedulerApplication {
             System.out.println("  - Seed: " + config.getSeed());
             System.out.println("  - Max iterations: " + config.getMaxIterations());
             System.out.println("  - Soft preferences as hard: " + config.isSoftPreferences());
+            System.out.println("  - Consistency: " + config.getConsistencyLevel());
+            System.out.println("  - Variable ordering: " + config.getVariableOrdering());
+            System.out.println("  - Engine: " + config.getEngine());
+            System.out.println("  - Workers: " + config.getWorkers());
+            System.out.println("  - Split depth: " + config.getSplitDepth());
+            System.out.println("  - Backtracking: " + config.getBacktrackStrategy());
+            System.out.println("  - Decompose: " + config.isDecompose());
+            System.out.println("  - Optimization: " + config.getOptimizeSeconds() + " seconds");
+            System.out.println("  - Repair: " + config.getRepairSeconds() + " seconds");
+            System.out.println("  - Restarts: " + config.getRestartStrategy() +
+                " (base " + config.getRestartBase() + " nodes)");
+            System.out.println("  - Feasibility check: " + config.isFeasibilityCheck());
+            System.out.println("  - Two-phase search: " + config.isTwoPhase());
+            System.out.println("  - Symmetry breaking: " + config.isSymmetryBreaking());
             System.out.println();
 
             long startTime = System.currentTimeMillis();
@@ -155,6 +189,20 @@ public class SchedulerApplication {
             }
         }
 
+        if (!result.getWorkerStatistics().isEmpty()) {
+            System.out.println("\nWorkers:");
+            for (WorkerStatistics worker : result.getWorkerStatistics()) {
+                System.out.println("  - " + worker);
+            }
+        }
+
+        if (!result.getImprovementCurve().isEmpty()) {
+            System.out.println("\nLocal search:");
+            for (ImprovementStep step : result.getImprovementCurve()) {
+                System.out.println("  - " + step);
+            }
+        }
+
         if (!result.getMessages().isEmpty()) {
             System.out.println("\nMessages:");
             for (String message : result.getMessages()) {
@@ -219,12 +267,15 @@ public class SchedulerApplication {
             ProfessorParser professorParser = new ProfessorParser(timeSlotMap);
             List<Professor> professors = professorParser.parse(config.getProfessorsFile());
 
+            // Rooms and courses intern their features into one dictionary per input
+            FeatureDictionary featureDictionary = new FeatureDictionary();
+
             // Parse rooms
-            RoomParser roomParser = new RoomParser(timeSlotMap);
+            RoomParser roomParser = new RoomParser(timeSlotMap, featureDictionary);
             List<Room> rooms = roomParser.parse(config.getRoomsFile());
 
             // Parse courses
-            CourseParser courseParser = new CourseParser(timeSlotMap);
+            CourseParser courseParser = new CourseParser(timeSlotMap, featureDictionary);
             List<Course> courses = courseParser.parse(config.getCoursesFile());
 
             return new SchedulingData(courses, professors, rooms, timeSlots);
@@ -1,5 +1,11 @@
 package com.scheduler.config;
 
+import com.scheduler.scheduler.BacktrackStrategy;
+import com.scheduler.scheduler.BacktrackingEngine;
+import com.scheduler.scheduler.ConsistencyLevel;
+import com.scheduler.scheduler.RestartStrategy;
+import com.scheduler.scheduler.VariableOrdering;
+
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -17,6 +23,20 @@ public class SchedulerConfiguration {
     private long timeoutSeconds;
     private long seed;
     private int maxIterations;
+    private ConsistencyLevel consistencyLevel;
+    private VariableOrdering variableOrdering;
+    private BacktrackingEngine engine;
+    private int workers;
+    private int splitDepth;
+    private BacktrackStrategy backtrackStrategy;
+    private boolean decompose;
+    private long optimizeSeconds;
+    private long repairSeconds;
+    private RestartStrategy restartStrategy;
+    private int restartBase;
+    private boolean feasibilityCheck;
+    private boolean twoPhase;
+    private boolean symmetryBreaking;
 
     private SchedulerConfiguration(Builder builder) {
         this.coursesFile = builder.coursesFile;
@@ -29,6 +49,20 @@ public class SchedulerConfiguration {
         this.timeoutSeconds = builder.timeoutSeconds;
         this.seed = builder.seed;
         this.maxIterations = builder.maxIterations;
+        this.consistencyLevel = builder.consistencyLevel;
+        this.variableOrdering = builder.variableOrdering;
+        this.engine = builder.engine;
+        this.workers = builder.workers;
+        this.splitDepth = builder.splitDepth;
+        this.backtrackStrategy = builder.backtrackStrategy;
+        this.decompose = builder.decompose;
+        this.optimizeSeconds = builder.optimizeSeconds;
+        this.repairSeconds = builder.repairSeconds;
+        this.restartStrategy = builder.restartStrategy;
+        this.restartBase = builder.restartBase;
+        this.feasibilityCheck = builder.feasibilityCheck;
+        this.twoPhase = builder.twoPhase;
+        this.symmetryBreaking = builder.symmetryBreaking;
     }
 
     public Path getCoursesFile() {
@@ -71,6 +105,62 @@ public class SchedulerConfiguration {
         return maxIterations;
     }
 
+    public ConsistencyLevel getConsistencyLevel() {
+        return consistencyLevel;
+    }
+
+    public VariableOrdering getVariableOrdering() {
+        return variableOrdering;
+    }
+
+    public BacktrackingEngine getEngine() {
+        return engine;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getSplitDepth() {
+        return splitDepth;
+    }
+
+    public BacktrackStrategy getBacktrackStrategy() {
+        return backtrackStrategy;
+    }
+
+    public boolean isDecompose() {
+        return decompose;
+    }
+
+    public long getOptimizeSeconds() {
+        return optimizeSeconds;
+    }
+
+    public long getRepairSeconds() {
+        return repairSeconds;
+    }
+
+    public RestartStrategy getRestartStrategy() {
+        return restartStrategy;
+    }
+
+    public int getRestartBase() {
+        return restartBase;
+    }
+
+    public boolean isFeasibilityCheck() {
+        return feasibilityCheck;
+    }
+
+    public boolean isTwoPhase() {
+        return twoPhase;
+    }
+
+    public boolean isSymmetryBreaking() {
+        return symmetryBreaking;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -86,6 +176,20 @@ public class SchedulerConfiguration {
         private long timeoutSeconds = 60;
         private long seed = System.currentTimeMillis();
         private int maxIterations = 10000;
+        private ConsistencyLevel consistencyLevel = ConsistencyLevel.NONE;
+        private VariableOrdering variableOrdering = VariableOrdering.STATIC;
+        private BacktrackingEngine engine = BacktrackingEngine.RECURSIVE;
+        private int workers = 1;
+        private int splitDepth = 0;
+        private BacktrackStrategy backtrackStrategy = BacktrackStrategy.CHRONOLOGICAL;
+        private boolean decompose = false;
+        private long optimizeSeconds = 0;
+        private long repairSeconds = 0;
+        private RestartStrategy restartStrategy = RestartStrategy.NONE;
+        private int restartBase = 100;
+        private boolean feasibilityCheck = false;
+        private boolean twoPhase = false;
+        private boolean symmetryBreaking = false;
 
         public Builder coursesFile(Path coursesFile) {
             this.coursesFile = coursesFile;
@@ -137,6 +241,76 @@ public class SchedulerConfiguration {
             return this;
         }
 
+        public Builder consistencyLevel(ConsistencyLevel consistencyLevel) {
+            this.consistencyLevel = consistencyLevel;
+            return this;
+        }
+
+        public Builder variableOrdering(VariableOrdering variableOrdering) {
+            this.variableOrdering = variableOrdering;
+            return this;
+        }
+
+        public Builder engine(BacktrackingEngine engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        public Builder workers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        public Builder splitDepth(int splitDepth) {
+            this.splitDepth = splitDepth;
+            return this;
+        }
+
+        public Builder backtrackStrategy(BacktrackStrategy backtrackStrategy) {
+            this.backtrackStrategy = backtrackStrategy;
+            return this;
+        }
+
+        public Builder decompose(boolean decompose) {
+            this.decompose = decompose;
+            return this;
+        }
+
+        public Builder optimizeSeconds(long optimizeSeconds) {
+            this.optimizeSeconds = optimizeSeconds;
+            return this;
+        }
+
+        public Builder repairSeconds(long repairSeconds) {
+            this.repairSeconds = repairSeconds;
+            return this;
+        }
+
+        public Builder restartStrategy(RestartStrategy restartStrategy) {
+            this.restartStrategy = restartStrategy;
+            return this;
+        }
+
+        public Builder restartBase(int restartBase) {
+            this.restartBase = restartBase;
+            return this;
+        }
+
+        public Builder feasibilityCheck(boolean feasibilityCheck) {
+            this.feasibilityCheck = feasibilityCheck;
+            return this;
+        }
+
+        public Builder twoPhase(boolean twoPhase) {
+            this.twoPhase = twoPhase;
+            return this;
+        }
+
+        public Builder symmetryBreaking(boolean symmetryBreaking) {
+            this.symmetryBreaking = symmetryBreaking;
+            return this;
+        }
+
         public SchedulerConfiguration build() {
             return new SchedulerConfiguration(this);
         }
@@ -46,6 +46,22 @@ public class ConsecutiveSlotsConstraint implements Constraint {
         return ValidationResult.success(getName());
     }
 
+    /**
+     * Returns whether {@link #validateMultiSlot} would succeed, without building
+     * its messages.
+     */
+    public boolean isSatisfiedMultiSlot(Course course, List<TimeSlot> timeSlots) {
+        if (timeSlots.size() != course.getDuration()) {
+            return false;
+        }
+        for (int i = 0; i < timeSlots.size() - 1; i++) {
+            if (!timeSlots.get(i).isConsecutiveWith(timeSlots.get(i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public ValidationResult validate(
         Course course,
@@ -58,6 +74,32 @@ public class ConsecutiveSlotsConstraint implements Constraint {
         return ValidationResult.success(getName());
     }
 
+    @Override
+    public boolean isSatisfied(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return isSatisfiedByInput(course, room, timeSlot, professor);
+    }
+
+    @Override
+    public boolean isSatisfiedByInput(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor
+    ) {
+        return true;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "Consecutive Slots";
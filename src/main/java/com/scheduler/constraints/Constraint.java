@@ -26,6 +26,59 @@ public interface Constraint {
         Schedule schedule
     );
     
+    /**
+     * Returns whether the proposed assignment satisfies this constraint, without
+     * building a {@link ValidationResult}. Search loops call this for every
+     * candidate, so implementations should not allocate.
+     */
+    default boolean isSatisfied(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return validate(course, room, timeSlot, professor, schedule).isValid();
+    }
+
+    /**
+     * Returns whether this constraint depends only on the input data and never
+     * on the schedule. Static constraints are compiled into per-course tables
+     * once before search instead of being checked for every candidate.
+     */
+    default boolean isStatic() {
+        return false;
+    }
+
+    /**
+     * Checks the parts of this constraint that depend only on the input data.
+     * Static constraints check everything here, by default against an empty
+     * schedule shared by all calls; other constraints override it for whatever
+     * part of their check does not look at the schedule.
+     */
+    default boolean isSatisfiedByInput(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor
+    ) {
+        return !isStatic() || isSatisfied(course, room, timeSlot, professor, ConstraintValidator.EMPTY_SCHEDULE);
+    }
+
+    /**
+     * Checks the parts of this constraint that depend on the schedule, for an
+     * assignment already known to pass {@link #isSatisfiedByInput}.
+     */
+    default boolean isSatisfiedBySchedule(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return isStatic() || isSatisfied(course, room, timeSlot, professor, schedule);
+    }
+
     /**
      * Returns the name of this constraint.
      */
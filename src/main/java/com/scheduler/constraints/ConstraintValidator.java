@@ -1,23 +1,54 @@
 package com.scheduler.constraints;
 
 import com.scheduler.domain.*;
+import com.scheduler.util.BitSets;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Validates course assignments against a collection of constraints.
  * Stateless validator with composable constraint checks.
+ *
+ * <p>{@link #isFeasible} answers only whether an assignment is allowed and
+ * stops at the first failing constraint, without allocating. Constraints that
+ * depend only on the input are compiled once per course and room with
+ * {@link #staticSlotMask}; the searches take their candidates from such tables
+ * and only check the rest with {@link #isFeasibleOnSchedule}. {@link #validate}
+ * and {@link #validateMultiSlot} evaluate every constraint and collect their
+ * messages for diagnostics and reports.
  */
 public class ConstraintValidator {
     
+    private static final ConsecutiveSlotsConstraint CONSECUTIVE_SLOTS = new ConsecutiveSlotsConstraint();
+
+    // Static constraints are checked against a schedule that never holds an assignment
+    static final Schedule EMPTY_SCHEDULE = new Schedule();
+
     private final List<Constraint> constraints;
     private final boolean treatSoftConstraintsAsHard;
+    // Constraints that can make an assignment infeasible, in evaluation order
+    private final Constraint[] blockingConstraints;
+    // The blocking constraints that look at the schedule at all
+    private final Constraint[] scheduleConstraints;
+    // Soft constraints not treated as hard that depend only on the input
+    private final Constraint[] scoredConstraints;
 
     public ConstraintValidator(List<Constraint> constraints, boolean treatSoftConstraintsAsHard) {
         this.constraints = new ArrayList<>(Objects.requireNonNull(constraints));
         this.treatSoftConstraintsAsHard = treatSoftConstraintsAsHard;
+        this.blockingConstraints = this.constraints.stream()
+            .filter(constraint -> constraint.isHardConstraint() || treatSoftConstraintsAsHard)
+            .toArray(Constraint[]::new);
+        this.scheduleConstraints = Arrays.stream(blockingConstraints)
+            .filter(constraint -> !constraint.isStatic())
+            .toArray(Constraint[]::new);
+        this.scoredConstraints = this.constraints.stream()
+            .filter(constraint -> !constraint.isHardConstraint() && !treatSoftConstraintsAsHard)
+            .filter(Constraint::isStatic)
+            .toArray(Constraint[]::new);
     }
 
     public ConstraintValidator(List<Constraint> constraints) {
@@ -33,11 +64,127 @@ public class ConstraintValidator {
             new RoomAvailabilityConstraint(),
             new RoomCapacityConstraint(),
             new RoomFeaturesConstraint(),
+            new ProfessorLoadConstraint(),
             new PreferredTimeWindowConstraint()
         );
         return new ConstraintValidator(defaultConstraints);
     }
 
+    /**
+     * Returns whether a single time slot assignment satisfies every hard
+     * constraint, without collecting messages.
+     */
+    public boolean isFeasible(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        for (Constraint constraint : blockingConstraints) {
+            if (!constraint.isSatisfied(course, room, timeSlot, professor, schedule)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether a multi-slot assignment satisfies every hard constraint,
+     * both the parts that depend on the input and those that depend on the
+     * schedule. Agrees with {@link #validateMultiSlot} but stops at the first
+     * failure and allocates nothing; unlike {@link #isFeasibleOnSchedule} it
+     * needs no static tables.
+     */
+    public boolean isFeasible(
+        Course course,
+        Room room,
+        List<TimeSlot> timeSlots,
+        Professor professor,
+        Schedule schedule
+    ) {
+        if (!CONSECUTIVE_SLOTS.isSatisfiedMultiSlot(course, timeSlots)) {
+            return false;
+        }
+        for (int i = 0; i < timeSlots.size(); i++) {
+            if (!isFeasible(course, room, timeSlots.get(i), professor, schedule)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the ordinals of the slots in which the input-only parts of every
+     * hard constraint allow {@code course} in {@code room}. A slot-run whose
+     * slots all lie in the mask needs only {@link #isFeasibleOnSchedule} during
+     * search.
+     */
+    public long[] staticSlotMask(Course course, Room room, Professor professor, TimeSlotUniverse slotUniverse) {
+        long[] mask = BitSets.create(slotUniverse.size());
+        slots:
+        for (int ordinal = 0; ordinal < slotUniverse.size(); ordinal++) {
+            TimeSlot timeSlot = slotUniverse.slotAt(ordinal);
+            for (Constraint constraint : blockingConstraints) {
+                if (!constraint.isSatisfiedByInput(course, room, timeSlot, professor)) {
+                    continue slots;
+                }
+            }
+            BitSets.set(mask, ordinal);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the hard constraints that look at the schedule, which are the
+     * ones {@link #isFeasibleOnSchedule} checks.
+     */
+    public List<Constraint> getScheduleConstraints() {
+        return List.of(scheduleConstraints);
+    }
+
+    /**
+     * Returns whether a multi-slot assignment that already passes the static
+     * tables is still allowed by {@code schedule}. Only constraints that look
+     * at the schedule are checked.
+     */
+    public boolean isFeasibleOnSchedule(
+        Course course,
+        Room room,
+        List<TimeSlot> timeSlots,
+        Professor professor,
+        Schedule schedule
+    ) {
+        for (int i = 0; i < timeSlots.size(); i++) {
+            TimeSlot timeSlot = timeSlots.get(i);
+            for (Constraint constraint : scheduleConstraints) {
+                if (!constraint.isSatisfiedBySchedule(course, room, timeSlot, professor, schedule)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns how many soft constraints an assignment violates in at least one
+     * of its slots. Only soft constraints that depend on the input alone are
+     * counted, so the penalty of an assignment does not change with the rest
+     * of the schedule; soft constraints treated as hard are never counted.
+     */
+    public int softPenalty(Course course, Room room, List<TimeSlot> timeSlots, Professor professor) {
+        int penalty = 0;
+        for (Constraint constraint : scoredConstraints) {
+            for (int i = 0; i < timeSlots.size(); i++) {
+                if (!constraint.isSatisfiedByInput(course, room, timeSlots.get(i), professor)) {
+                    penalty++;
+                    break;
+                }
+            }
+        }
+        return penalty;
+    }
+
     /**
      * Validates a single time slot assignment.
      */
@@ -79,8 +226,7 @@ public class ConstraintValidator {
         boolean allHardConstraintsSatisfied = true;
 
         // Validate consecutive slots constraint
-        ConsecutiveSlotsConstraint consecutiveConstraint = new ConsecutiveSlotsConstraint();
-        ValidationResult consecutiveResult = consecutiveConstraint.validateMultiSlot(
+        ValidationResult consecutiveResult = CONSECUTIVE_SLOTS.validateMultiSlot(
             course, room, timeSlots, professor, schedule
         );
         results.add(consecutiveResult);
@@ -94,7 +240,7 @@ public class ConstraintValidator {
             ConstraintValidationResult slotResult = validate(
                 course, room, timeSlot, professor, schedule
             );
-            results.addAll(slotResult.getResults());
+            results.addAll(slotResult.results);
 
             if (!slotResult.isValid()) {
                 allHardConstraintsSatisfied = false;
@@ -36,6 +36,40 @@ public class PreferredTimeWindowConstraint implements Constraint {
         return ValidationResult.failure(getName(), message);
     }
 
+    @Override
+    public boolean isSatisfied(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return isSatisfiedByInput(course, room, timeSlot, professor);
+    }
+
+    @Override
+    public boolean isSatisfiedByInput(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor
+    ) {
+        if (!course.hasPreferredTimeWindows()) {
+            return true;
+        }
+        for (TimeSlot preferred : course.getPreferredTimeWindows()) {
+            if (preferred.equals(timeSlot) || preferred.overlapsWith(timeSlot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "Preferred Time Window";
@@ -43,6 +43,39 @@ public class ProfessorAvailabilityConstraint implements Constraint {
         return ValidationResult.failure(getName(), violations);
     }
 
+    @Override
+    public boolean isSatisfied(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return isSatisfiedByInput(course, room, timeSlot, professor)
+            && isSatisfiedBySchedule(course, room, timeSlot, professor, schedule);
+    }
+
+    @Override
+    public boolean isSatisfiedByInput(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor
+    ) {
+        return professor.isAvailableAt(timeSlot);
+    }
+
+    @Override
+    public boolean isSatisfiedBySchedule(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return schedule.isProfessorAvailableAt(professor.getId(), timeSlot);
+    }
+
     @Override
     public String getName() {
         return "Professor Availability";
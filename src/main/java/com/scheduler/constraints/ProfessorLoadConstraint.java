@@ -0,0 +1,74 @@
+package com.scheduler.constraints;
+
+import com.scheduler.domain.*;
+
+/**
+ * Ensures a professor does not teach more courses than their maximum load.
+ * The current load is read from the schedule's per-professor counter.
+ */
+public class ProfessorLoadConstraint implements Constraint {
+
+    @Override
+    public ValidationResult validate(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        if (isSatisfied(course, room, timeSlot, professor, schedule)) {
+            return ValidationResult.success(getName());
+        }
+
+        String message = String.format(
+            "Professor %s (%s) already teaches %d courses, the maximum load is %d",
+            professor.getId(), professor.getName(),
+            schedule.getProfessorLoad(professor.getId()), professor.getMaxLoad()
+        );
+
+        return ValidationResult.failure(getName(), message);
+    }
+
+    @Override
+    public boolean isSatisfied(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return isSatisfiedByInput(course, room, timeSlot, professor)
+            && isSatisfiedBySchedule(course, room, timeSlot, professor, schedule);
+    }
+
+    @Override
+    public boolean isSatisfiedByInput(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor
+    ) {
+        return professor.getMaxLoad() > 0;
+    }
+
+    @Override
+    public boolean isSatisfiedBySchedule(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return schedule.getProfessorLoad(professor.getId()) < professor.getMaxLoad();
+    }
+
+    @Override
+    public String getName() {
+        return "Professor Load";
+    }
+
+    @Override
+    public boolean isHardConstraint() {
+        return true;
+    }
+}
@@ -42,6 +42,39 @@ public class RoomAvailabilityConstraint implements Constraint {
         return ValidationResult.failure(getName(), violations);
     }
 
+    @Override
+    public boolean isSatisfied(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return isSatisfiedByInput(course, room, timeSlot, professor)
+            && isSatisfiedBySchedule(course, room, timeSlot, professor, schedule);
+    }
+
+    @Override
+    public boolean isSatisfiedByInput(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor
+    ) {
+        return room.isAvailableAt(timeSlot);
+    }
+
+    @Override
+    public boolean isSatisfiedBySchedule(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return schedule.isRoomAvailableAt(room.getId(), timeSlot);
+    }
+
     @Override
     public String getName() {
         return "Room Availability";
@@ -28,6 +28,32 @@ public class RoomCapacityConstraint implements Constraint {
         return ValidationResult.failure(getName(), message);
     }
 
+    @Override
+    public boolean isSatisfied(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return isSatisfiedByInput(course, room, timeSlot, professor);
+    }
+
+    @Override
+    public boolean isSatisfiedByInput(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor
+    ) {
+        return room.canAccommodate(course.getExpectedEnrollment());
+    }
+
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "Room Capacity";
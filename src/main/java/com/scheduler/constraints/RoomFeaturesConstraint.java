@@ -1,6 +1,7 @@
 package com.scheduler.constraints;
 
 import com.scheduler.domain.*;
+import com.scheduler.util.BitSets;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -18,12 +19,19 @@ public class RoomFeaturesConstraint implements Constraint {
         Professor professor,
         Schedule schedule
     ) {
-        if (room.hasAllFeatures(course.getRequiredFeatures())) {
+        if (room.hasAllFeatures(course)) {
             return ValidationResult.success(getName());
         }
 
-        Set<String> missingFeatures = new HashSet<>(course.getRequiredFeatures());
-        missingFeatures.removeAll(room.getFeatures());
+        Set<String> missingFeatures;
+        if (room.sharesFeatureDictionary(course)) {
+            long[] missing = course.getRequiredFeatureMask().clone();
+            BitSets.andNot(missing, room.getFeatureMask());
+            missingFeatures = room.getFeatureDictionary().namesOf(missing);
+        } else {
+            missingFeatures = new HashSet<>(course.getRequiredFeatures());
+            missingFeatures.removeAll(room.getFeatures());
+        }
 
         String message = String.format(
             "Room %s is missing required features for course %s: %s",
@@ -33,6 +41,32 @@ public class RoomFeaturesConstraint implements Constraint {
         return ValidationResult.failure(getName(), message);
     }
 
+    @Override
+    public boolean isSatisfied(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor,
+        Schedule schedule
+    ) {
+        return isSatisfiedByInput(course, room, timeSlot, professor);
+    }
+
+    @Override
+    public boolean isSatisfiedByInput(
+        Course course,
+        Room room,
+        TimeSlot timeSlot,
+        Professor professor
+    ) {
+        return room.hasAllFeatures(course);
+    }
+
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "Room Features";
@@ -7,7 +7,9 @@ import java.util.Set;
 
 /**
  * Represents a course that needs to be scheduled.
- * Immutable with defensive copying of collections.
+ * Immutable with defensive copying of collections. Courses built with the
+ * {@link FeatureDictionary} of their input also keep their required features as
+ * a bitset over it.
  */
 public final class Course {
     private final String id;
@@ -15,6 +17,8 @@ public final class Course {
     private final int duration;
     private final int expectedEnrollment;
     private final Set<String> requiredFeatures;
+    private final FeatureDictionary featureDictionary;
+    private final long[] requiredFeatureMask;
     private final Set<TimeSlot> preferredTimeWindows;
     private final String professorId;
 
@@ -25,6 +29,8 @@ public final class Course {
         this.expectedEnrollment = builder.expectedEnrollment;
         this.requiredFeatures = Collections.unmodifiableSet(
             new HashSet<>(builder.requiredFeatures));
+        this.featureDictionary = builder.featureDictionary;
+        this.requiredFeatureMask = featureDictionary == null ? null : featureDictionary.maskOf(requiredFeatures);
         this.preferredTimeWindows = Collections.unmodifiableSet(
             new HashSet<>(builder.preferredTimeWindows));
         this.professorId = Objects.requireNonNull(builder.professorId, 
@@ -58,6 +64,23 @@ public final class Course {
         return requiredFeatures;
     }
 
+    /**
+     * Returns the dictionary the required features were interned into, or
+     * null if the course was built without one.
+     */
+    public FeatureDictionary getFeatureDictionary() {
+        return featureDictionary;
+    }
+
+    /**
+     * Returns the required features as a bitset over
+     * {@link #getFeatureDictionary()}, or null if there is none. The array must
+     * not be modified.
+     */
+    public long[] getRequiredFeatureMask() {
+        return requiredFeatureMask;
+    }
+
     public Set<TimeSlot> getPreferredTimeWindows() {
         return preferredTimeWindows;
     }
@@ -99,6 +122,7 @@ public final class Course {
         private int duration;
         private int expectedEnrollment;
         private Set<String> requiredFeatures = new HashSet<>();
+        private FeatureDictionary featureDictionary;
         private Set<TimeSlot> preferredTimeWindows = new HashSet<>();
         private String professorId;
 
@@ -132,6 +156,15 @@ public final class Course {
             return this;
         }
 
+        /**
+         * Interns the required features into the given dictionary, shared by
+         * the rooms and courses of one input. May be null.
+         */
+        public Builder featureDictionary(FeatureDictionary featureDictionary) {
+            this.featureDictionary = featureDictionary;
+            return this;
+        }
+
         public Builder preferredTimeWindows(Set<TimeSlot> preferredTimeWindows) {
             this.preferredTimeWindows = new HashSet<>(preferredTimeWindows);
             return this;
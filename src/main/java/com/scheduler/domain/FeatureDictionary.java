@@ -0,0 +1,82 @@
+package com.scheduler.domain;
+
+import com.scheduler.util.BitSets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Interns room and course feature names into dense bit indices, so feature
+ * sets can be stored as bitsets and a room's fit for a course checked with a
+ * few word operations instead of {@link Set#containsAll}.
+ *
+ * <p>Indices are handed out on first use and never change, so masks built at
+ * different times from the same dictionary can be compared; masks of
+ * different dictionaries cannot. The rooms and courses of one input are
+ * built with one dictionary when the input is loaded, so feature indices never
+ * outlive the input they were taken from. Not safe for concurrent interning,
+ * but a dictionary that is only read may be shared.
+ */
+public final class FeatureDictionary {
+
+    private static final long[] EMPTY_MASK = new long[0];
+
+    private final Map<String, Integer> indices = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * Returns the index of a feature, assigning the next free one if it is new.
+     */
+    public int intern(String feature) {
+        return indices.computeIfAbsent(feature, f -> {
+            names.add(f);
+            return names.size() - 1;
+        });
+    }
+
+    /**
+     * Returns the index of a feature, or -1 if it has never been interned.
+     */
+    public int indexOf(String feature) {
+        Integer index = indices.get(feature);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Interns the given features and returns their bitset, just wide enough for
+     * the highest index. The empty mask is shared and must not be modified.
+     */
+    public long[] maskOf(Collection<String> features) {
+        if (features.isEmpty()) {
+            return EMPTY_MASK;
+        }
+        int[] interned = new int[features.size()];
+        int highest = 0;
+        int count = 0;
+        for (String feature : features) {
+            interned[count] = intern(feature);
+            highest = Math.max(highest, interned[count++]);
+        }
+        long[] mask = BitSets.create(highest + 1);
+        for (int index : interned) {
+            BitSets.set(mask, index);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the names of the features in a mask, in index order.
+     */
+    public Set<String> namesOf(long[] mask) {
+        Set<String> features = new LinkedHashSet<>();
+        for (int index = BitSets.nextSetBit(mask, 0); index >= 0; index = BitSets.nextSetBit(mask, index + 1)) {
+            features.add(names.get(index));
+        }
+        return features;
+    }
+}
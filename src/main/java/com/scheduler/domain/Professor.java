@@ -44,8 +44,12 @@ public final class Professor {
     }
 
     public boolean isAvailableAt(TimeSlot timeSlot) {
-        return unavailableTimeSlots.stream()
-            .noneMatch(unavailable -> unavailable.overlapsWith(timeSlot));
+        for (TimeSlot unavailable : unavailableTimeSlots) {
+            if (unavailable.overlapsWith(timeSlot)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
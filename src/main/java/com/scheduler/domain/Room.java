@@ -1,5 +1,7 @@
 package com.scheduler.domain;
 
+import com.scheduler.util.BitSets;
+
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
@@ -7,13 +9,17 @@ import java.util.Set;
 
 /**
  * Represents a physical room where courses can be scheduled.
- * Immutable with defensive copying of collections.
+ * Immutable with defensive copying of collections. Rooms built with the
+ * {@link FeatureDictionary} of their input also keep their features as a bitset
+ * over it, so the fit for a course of the same input is a few word operations.
  */
 public final class Room {
     private final String id;
     private final String name;
     private final int capacity;
     private final Set<String> features;
+    private final FeatureDictionary featureDictionary;
+    private final long[] featureMask;
     private final Set<TimeSlot> unavailableTimeSlots;
 
     private Room(Builder builder) {
@@ -21,6 +27,8 @@ public final class Room {
         this.name = Objects.requireNonNull(builder.name, "Room name cannot be null");
         this.capacity = builder.capacity;
         this.features = Collections.unmodifiableSet(new HashSet<>(builder.features));
+        this.featureDictionary = builder.featureDictionary;
+        this.featureMask = featureDictionary == null ? null : featureDictionary.maskOf(features);
         this.unavailableTimeSlots = Collections.unmodifiableSet(
             new HashSet<>(builder.unavailableTimeSlots));
         
@@ -49,13 +57,61 @@ public final class Room {
         return unavailableTimeSlots;
     }
 
+    /**
+     * Returns the dictionary the features were interned into, or null if the
+     * room was built without one.
+     */
+    public FeatureDictionary getFeatureDictionary() {
+        return featureDictionary;
+    }
+
+    /**
+     * Returns the features as a bitset over {@link #getFeatureDictionary()},
+     * or null if there is none. The array must not be modified.
+     */
+    public long[] getFeatureMask() {
+        return featureMask;
+    }
+
+    /**
+     * Returns true if the room and the course were built with the same
+     * feature dictionary, so their masks can be compared.
+     */
+    public boolean sharesFeatureDictionary(Course course) {
+        return featureDictionary != null && featureDictionary == course.getFeatureDictionary();
+    }
+
     public boolean hasAllFeatures(Set<String> requiredFeatures) {
-        return this.features.containsAll(requiredFeatures);
+        if (featureDictionary == null) {
+            return this.features.containsAll(requiredFeatures);
+        }
+        for (String feature : requiredFeatures) {
+            int index = featureDictionary.indexOf(feature);
+            if (index < 0 || !BitSets.get(featureMask, index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the room has every feature the course requires, by
+     * comparing masks when both share a dictionary.
+     */
+    public boolean hasAllFeatures(Course course) {
+        if (sharesFeatureDictionary(course)) {
+            return BitSets.containsAll(featureMask, course.getRequiredFeatureMask());
+        }
+        return hasAllFeatures(course.getRequiredFeatures());
     }
 
     public boolean isAvailableAt(TimeSlot timeSlot) {
-        return unavailableTimeSlots.stream()
-            .noneMatch(unavailable -> unavailable.overlapsWith(timeSlot));
+        for (TimeSlot unavailable : unavailableTimeSlots) {
+            if (unavailable.overlapsWith(timeSlot)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public boolean canAccommodate(int expectedEnrollment) {
@@ -90,6 +146,7 @@ public final class Room {
         private String name;
         private int capacity;
         private Set<String> features = new HashSet<>();
+        private FeatureDictionary featureDictionary;
         private Set<TimeSlot> unavailableTimeSlots = new HashSet<>();
 
         public Builder id(String id) {
@@ -117,6 +174,15 @@ public final class Room {
             return this;
         }
 
+        /**
+         * Interns the features into the given dictionary, shared by the rooms
+         * and courses of one input. May be null.
+         */
+        public Builder featureDictionary(FeatureDictionary featureDictionary) {
+            this.featureDictionary = featureDictionary;
+            return this;
+        }
+
         public Builder unavailableTimeSlots(Set<TimeSlot> unavailableTimeSlots) {
             this.unavailableTimeSlots = new HashSet<>(unavailableTimeSlots);
             return this;
@@ -0,0 +1,195 @@
+package com.scheduler.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Rooms grouped by feature signature and sorted by capacity within each group,
+ * so the rooms that fit a course can be listed tightest first without scanning
+ * and sorting the whole catalogue.
+ *
+ * <p>{@link #roomsFor(Course)} skips the groups missing a required feature,
+ * binary-searches each remaining group for the smallest room that holds the
+ * enrollment, and merges the groups by capacity. Rooms of equal capacity come
+ * in the order of fewer features first, then their order in the catalogue.
+ *
+ * <p>A group's fit for a course is checked on its first room, by comparing
+ * feature masks when the rooms and the course share a {@link FeatureDictionary}.
+ *
+ * <p>Indexes built with {@link #of(Collection)} are immutable and safe to share
+ * between threads.
+ */
+public final class RoomIndex {
+
+    private final List<Group> groups;
+    private final int size;
+
+    private RoomIndex(List<Group> groups, int size) {
+        this.groups = groups;
+        this.size = size;
+    }
+
+    /**
+     * Builds an index over the given rooms.
+     */
+    public static RoomIndex of(Collection<Room> rooms) {
+        Map<Set<String>, List<Room>> bySignature = new LinkedHashMap<>();
+        Map<Room, Integer> positions = new HashMap<>();
+        for (Room room : rooms) {
+            positions.putIfAbsent(room, positions.size());
+            bySignature.computeIfAbsent(room.getFeatures(), s -> new ArrayList<>()).add(room);
+        }
+        List<Group> groups = new ArrayList<>(bySignature.size());
+        for (List<Room> members : bySignature.values()) {
+            // List.sort is stable, so rooms of equal capacity keep their catalogue order
+            members.sort((a, b) -> Integer.compare(a.getCapacity(), b.getCapacity()));
+            groups.add(new Group(members, positions));
+        }
+        return new RoomIndex(Collections.unmodifiableList(groups), rooms.size());
+    }
+
+    /**
+     * Returns the rooms that hold the course's enrollment and have all its
+     * required features, tightest capacity first.
+     */
+    public List<Room> roomsFor(Course course) {
+        return roomsFor(course, null);
+    }
+
+    /**
+     * Returns the rooms like {@link #roomsFor(Course)}, but with equally
+     * fitting rooms in random order. A null {@code random} keeps the
+     * deterministic order.
+     */
+    public List<Room> roomsFor(Course course, Random random) {
+        int enrollment = course.getExpectedEnrollment();
+
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        for (Group group : groups) {
+            if (!group.representative.hasAllFeatures(course)) {
+                continue;
+            }
+            int first = group.firstHolding(enrollment);
+            if (first < group.rooms.length) {
+                cursors.add(new Cursor(group, first));
+            }
+        }
+
+        List<Room> fitting = new ArrayList<>();
+        while (!cursors.isEmpty()) {
+            Cursor cursor = cursors.poll();
+            fitting.add(cursor.group.rooms[cursor.index]);
+            if (++cursor.index < cursor.group.rooms.length) {
+                cursors.add(cursor);
+            }
+        }
+
+        if (random != null) {
+            shuffleTies(fitting, random);
+        }
+        return fitting;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of distinct feature signatures.
+     */
+    public int groupCount() {
+        return groups.size();
+    }
+
+    private static void shuffleTies(List<Room> rooms, Random random) {
+        int start = 0;
+        while (start < rooms.size()) {
+            int end = start + 1;
+            while (end < rooms.size() && sameFit(rooms.get(start), rooms.get(end))) {
+                end++;
+            }
+            if (end - start > 1) {
+                Collections.shuffle(rooms.subList(start, end), random);
+            }
+            start = end;
+        }
+    }
+
+    private static boolean sameFit(Room a, Room b) {
+        return a.getCapacity() == b.getCapacity() && a.getFeatures().size() == b.getFeatures().size();
+    }
+
+    /**
+     * Rooms sharing one feature signature, sorted by capacity.
+     */
+    private static final class Group {
+        private final Room representative;
+        private final int featureCount;
+        private final Room[] rooms;
+        private final int[] capacities;
+        private final int[] positions;
+
+        Group(List<Room> members, Map<Room, Integer> catalogue) {
+            this.representative = members.get(0);
+            this.featureCount = representative.getFeatures().size();
+            this.rooms = members.toArray(new Room[0]);
+            this.capacities = new int[rooms.length];
+            this.positions = new int[rooms.length];
+            for (int i = 0; i < rooms.length; i++) {
+                capacities[i] = rooms[i].getCapacity();
+                positions[i] = catalogue.get(rooms[i]);
+            }
+        }
+
+        /**
+         * Returns the index of the first room with at least the given capacity.
+         */
+        int firstHolding(int enrollment) {
+            int low = 0;
+            int high = capacities.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (capacities[mid] < enrollment) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Position of the merge within one group.
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+        private final Group group;
+        private int index;
+
+        Cursor(Group group, int index) {
+            this.group = group;
+            this.index = index;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            int byCapacity = Integer.compare(group.capacities[index], other.group.capacities[other.index]);
+            if (byCapacity != 0) {
+                return byCapacity;
+            }
+            int byFeatures = Integer.compare(group.featureCount, other.group.featureCount);
+            if (byFeatures != 0) {
+                return byFeatures;
+            }
+            return Integer.compare(group.positions[index], other.group.positions[other.index]);
+        }
+    }
+}
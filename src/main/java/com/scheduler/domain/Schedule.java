@@ -1,11 +1,23 @@
 package com.scheduler.domain;
 
+import com.scheduler.util.BitSets;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Represents a complete schedule with all course assignments.
  * Provides query methods for conflict detection and validation.
+ *
+ * <p>Room and professor availability are answered from an occupancy index:
+ * every time slot has a dense ordinal in the schedule's {@link TimeSlotUniverse},
+ * and each room and professor keeps a {@code long[]} bitset of the ordinals it occupies.
+ * Each professor's load, the number of courses they teach, is kept as a counter.
+ *
+ * <p>Assignments are kept in the order they were added, which doubles as an
+ * undo trail: {@link #mark()} records the current position and
+ * {@link #restore(int)} takes back every assignment added since, popping them
+ * off the ends of the lists in O(changes) instead of searching for them.
  */
 public class Schedule {
     private final List<CourseAssignment> assignments;
@@ -13,11 +25,35 @@ public class Schedule {
     private final Map<String, List<CourseAssignment>> professorIdToAssignments;
     private final Map<String, List<CourseAssignment>> roomIdToAssignments;
 
+    private final TimeSlotUniverse slotUniverse;
+    private final Map<String, long[]> professorOccupancy;
+    private final Map<String, long[]> roomOccupancy;
+    private final Map<String, Integer> professorLoad;
+    // Per position in assignments: the ordinals the assignment alone occupies,
+    // or null if it shares a slot with another one and occupancy must be rebuilt
+    private final List<int[]> exclusiveOrdinals;
+
+    /**
+     * Creates a schedule whose slot ordinals are assigned as slots are first seen.
+     */
     public Schedule() {
+        this(TimeSlotUniverse.growable());
+    }
+
+    /**
+     * Creates a schedule over a fixed slot universe; every assigned or queried
+     * slot must belong to it.
+     */
+    public Schedule(TimeSlotUniverse slotUniverse) {
         this.assignments = new ArrayList<>();
         this.courseIdToAssignment = new HashMap<>();
         this.professorIdToAssignments = new HashMap<>();
         this.roomIdToAssignments = new HashMap<>();
+        this.slotUniverse = Objects.requireNonNull(slotUniverse, "Slot universe cannot be null");
+        this.professorOccupancy = new HashMap<>();
+        this.roomOccupancy = new HashMap<>();
+        this.professorLoad = new HashMap<>();
+        this.exclusiveOrdinals = new ArrayList<>();
     }
 
     public void addAssignment(CourseAssignment assignment) {
@@ -28,6 +64,7 @@ public class Schedule {
             throw new IllegalStateException(
                 "Course " + courseId + " is already scheduled");
         }
+        int[] slotOrdinals = resolveOrdinals(assignment);
         
         assignments.add(assignment);
         courseIdToAssignment.put(courseId, assignment);
@@ -36,28 +73,92 @@ public class Schedule {
         professorIdToAssignments
             .computeIfAbsent(professorId, k -> new ArrayList<>())
             .add(assignment);
+        professorLoad.merge(professorId, 1, Integer::sum);
         
         String roomId = assignment.getRoom().getId();
         roomIdToAssignments
             .computeIfAbsent(roomId, k -> new ArrayList<>())
             .add(assignment);
+
+        long[] professorWords = professorOccupancy.get(professorId);
+        long[] roomWords = roomOccupancy.get(roomId);
+        boolean shared = false;
+        for (int ordinal : slotOrdinals) {
+            shared |= professorWords != null && BitSets.get(professorWords, ordinal);
+            shared |= roomWords != null && BitSets.get(roomWords, ordinal);
+        }
+        exclusiveOrdinals.add(shared ? null : slotOrdinals);
+
+        professorOccupancy.put(professorId, occupy(professorWords, slotOrdinals));
+        roomOccupancy.put(roomId, occupy(roomWords, slotOrdinals));
     }
 
     public void removeAssignment(CourseAssignment assignment) {
         String courseId = assignment.getCourse().getId();
-        assignments.remove(assignment);
+        int position = assignments.indexOf(assignment);
+        if (position >= 0) {
+            assignments.remove(position);
+            exclusiveOrdinals.remove(position);
+        }
         courseIdToAssignment.remove(courseId);
         
         String professorId = assignment.getCourse().getProfessorId();
         List<CourseAssignment> profAssignments = professorIdToAssignments.get(professorId);
         if (profAssignments != null) {
-            profAssignments.remove(assignment);
+            if (profAssignments.remove(assignment)) {
+                professorLoad.merge(professorId, -1, Integer::sum);
+            }
+            rebuildOccupancy(professorOccupancy.get(professorId), profAssignments);
         }
         
         String roomId = assignment.getRoom().getId();
         List<CourseAssignment> roomAssignments = roomIdToAssignments.get(roomId);
         if (roomAssignments != null) {
             roomAssignments.remove(assignment);
+            rebuildOccupancy(roomOccupancy.get(roomId), roomAssignments);
+        }
+    }
+
+    /**
+     * Returns a mark for {@link #restore(int)}: the number of assignments.
+     */
+    public int mark() {
+        return assignments.size();
+    }
+
+    /**
+     * Takes back the assignments added since {@code mark}, most recent first,
+     * provided no earlier assignment was removed in between. Each one is the last entry of every list that holds it, so nothing is
+     * searched; occupancy bits are cleared directly unless the assignment
+     * shared a slot with another one.
+     */
+    public void restore(int mark) {
+        while (assignments.size() > mark) {
+            int last = assignments.size() - 1;
+            CourseAssignment assignment = assignments.remove(last);
+            int[] ordinals = exclusiveOrdinals.remove(last);
+            courseIdToAssignment.remove(assignment.getCourse().getId());
+
+            String professorId = assignment.getCourse().getProfessorId();
+            List<CourseAssignment> profAssignments = professorIdToAssignments.get(professorId);
+            profAssignments.remove(profAssignments.size() - 1);
+            professorLoad.merge(professorId, -1, Integer::sum);
+
+            String roomId = assignment.getRoom().getId();
+            List<CourseAssignment> roomAssignments = roomIdToAssignments.get(roomId);
+            roomAssignments.remove(roomAssignments.size() - 1);
+
+            if (ordinals == null) {
+                rebuildOccupancy(professorOccupancy.get(professorId), profAssignments);
+                rebuildOccupancy(roomOccupancy.get(roomId), roomAssignments);
+            } else {
+                long[] professorWords = professorOccupancy.get(professorId);
+                long[] roomWords = roomOccupancy.get(roomId);
+                for (int ordinal : ordinals) {
+                    BitSets.clear(professorWords, ordinal);
+                    BitSets.clear(roomWords, ordinal);
+                }
+            }
         }
     }
 
@@ -78,17 +179,22 @@ public class Schedule {
     }
 
     public boolean isProfessorAvailableAt(String professorId, TimeSlot timeSlot) {
-        List<CourseAssignment> profAssignments = getAssignmentsForProfessor(professorId);
-        return profAssignments.stream()
-            .flatMap(a -> a.getTimeSlots().stream())
-            .noneMatch(slot -> slot.overlapsWith(timeSlot));
+        return isFree(professorOccupancy.get(professorId), timeSlot);
+    }
+
+    /**
+     * Returns the number of courses assigned to a professor.
+     */
+    public int getProfessorLoad(String professorId) {
+        return professorLoad.getOrDefault(professorId, 0);
     }
 
     public boolean isRoomAvailableAt(String roomId, TimeSlot timeSlot) {
-        List<CourseAssignment> roomAssignments = getAssignmentsForRoom(roomId);
-        return roomAssignments.stream()
-            .flatMap(a -> a.getTimeSlots().stream())
-            .noneMatch(slot -> slot.overlapsWith(timeSlot));
+        return isFree(roomOccupancy.get(roomId), timeSlot);
+    }
+
+    public TimeSlotUniverse getTimeSlotUniverse() {
+        return slotUniverse;
     }
 
     public int getScheduledCoursesCount() {
@@ -99,6 +205,53 @@ public class Schedule {
         return assignments.isEmpty();
     }
 
+    private boolean isFree(long[] occupancy, TimeSlot timeSlot) {
+        if (occupancy == null) {
+            return true;
+        }
+        int ordinal = slotUniverse.ordinalOf(timeSlot);
+        if (ordinal < 0) {
+            // Queries never register slots; an unknown one is matched by time
+            return !BitSets.intersects(occupancy, slotUniverse.maskOf(List.of(timeSlot)));
+        }
+        // On a grid of non-overlapping slots the mask holds a single bit
+        return !BitSets.intersects(occupancy, slotUniverse.overlapMask(ordinal));
+    }
+
+    private int[] resolveOrdinals(CourseAssignment assignment) {
+        List<TimeSlot> slots = assignment.getTimeSlots();
+        int[] slotOrdinals = new int[slots.size()];
+        for (int i = 0; i < slotOrdinals.length; i++) {
+            slotOrdinals[i] = slotUniverse.resolve(slots.get(i));
+        }
+        return slotOrdinals;
+    }
+
+    private long[] occupy(long[] occupancy, int[] slotOrdinals) {
+        long[] words = occupancy == null ? BitSets.create(slotUniverse.size()) : occupancy;
+        for (int ordinal : slotOrdinals) {
+            words = BitSets.ensureCapacity(words, ordinal + 1);
+            BitSets.set(words, ordinal);
+        }
+        return words;
+    }
+
+    /**
+     * Recomputes an occupancy bitset from the remaining assignments, so a slot
+     * shared by two (invalid, double-booked) assignments stays marked.
+     */
+    private void rebuildOccupancy(long[] occupancy, List<CourseAssignment> remaining) {
+        if (occupancy == null) {
+            return;
+        }
+        Arrays.fill(occupancy, 0L);
+        for (CourseAssignment other : remaining) {
+            for (TimeSlot slot : other.getTimeSlots()) {
+                BitSets.set(occupancy, slotUniverse.ordinalOf(slot));
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return String.format("Schedule{assignments=%d}", assignments.size());
@@ -13,6 +13,7 @@ public final class TimeSlot implements Comparable<TimeSlot> {
     private final DayOfWeek dayOfWeek;
     private final LocalTime startTime;
     private final LocalTime endTime;
+    private final int hash;
 
     private TimeSlot(Builder builder) {
         this.slotIndex = builder.slotIndex;
@@ -23,6 +24,8 @@ public final class TimeSlot implements Comparable<TimeSlot> {
         if (!endTime.isAfter(startTime)) {
             throw new IllegalArgumentException("End time must be after start time");
         }
+        // Slots are hashed constantly by the solver's set lookups; compute once
+        this.hash = Objects.hash(slotIndex, dayOfWeek, startTime, endTime);
     }
 
     public int getSlotIndex() {
@@ -72,7 +75,7 @@ public final class TimeSlot implements Comparable<TimeSlot> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(slotIndex, dayOfWeek, startTime, endTime);
+        return hash;
     }
 
     @Override
@@ -0,0 +1,245 @@
+package com.scheduler.domain;
+
+import com.scheduler.util.BitSets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense integer view of the time slots of a term.
+ * Each slot gets an ordinal in natural slot order, with a precomputed overlap
+ * bitset and consecutive-successor entry, so the solver can compare slots with
+ * int arithmetic instead of {@link TimeSlot#overlapsWith} on every check.
+ * The length of the consecutive run starting at each slot is precomputed too,
+ * and the valid starts for a given duration are cached as a bitset.
+ *
+ * <p>Universes built with {@link #of(Collection)} are immutable and safe to
+ * share between threads.
+ */
+public final class TimeSlotUniverse {
+    private static final int NO_SUCCESSOR = -1;
+
+    private final boolean growable;
+    private final Map<TimeSlot, Integer> ordinals;
+    private TimeSlot[] slots;
+    private long[][] overlapMasks;
+    private int[] successors;
+    private int[] runLengths;
+    private final Map<Integer, long[]> runStarts = new ConcurrentHashMap<>();
+    private int size;
+
+    private TimeSlotUniverse(boolean growable, int capacity) {
+        this.growable = growable;
+        this.ordinals = new HashMap<>();
+        this.slots = new TimeSlot[capacity];
+        this.overlapMasks = new long[capacity][];
+        this.successors = new int[capacity];
+    }
+
+    /**
+     * Builds an immutable universe over the given slots.
+     * Duplicates are ignored; ordinals follow {@link TimeSlot#compareTo}.
+     */
+    public static TimeSlotUniverse of(Collection<TimeSlot> timeSlots) {
+        List<TimeSlot> sorted = new ArrayList<>(new TreeSet<>(timeSlots));
+        TimeSlotUniverse universe = new TimeSlotUniverse(false, sorted.size());
+        for (TimeSlot slot : sorted) {
+            universe.register(slot);
+        }
+        universe.computeRunLengths();
+        return universe;
+    }
+
+    /**
+     * Creates an empty universe that registers slots on first use.
+     * Backs a {@link Schedule} created without a universe.
+     */
+    static TimeSlotUniverse growable() {
+        return new TimeSlotUniverse(true, 16);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<TimeSlot> getTimeSlots() {
+        return Collections.unmodifiableList(Arrays.asList(slots).subList(0, size));
+    }
+
+    public TimeSlot slotAt(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("No time slot with ordinal " + ordinal);
+        }
+        return slots[ordinal];
+    }
+
+    /**
+     * Returns the ordinal of a slot, or -1 if it is not part of this universe.
+     */
+    public int ordinalOf(TimeSlot timeSlot) {
+        Integer ordinal = ordinals.get(timeSlot);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public boolean contains(TimeSlot timeSlot) {
+        return ordinals.containsKey(timeSlot);
+    }
+
+    public boolean overlaps(int first, int second) {
+        return BitSets.get(overlapMasks[first], second);
+    }
+
+    /**
+     * Returns the bitset of ordinals overlapping the given one, including itself.
+     * The array is shared and must not be modified.
+     */
+    public long[] overlapMask(int ordinal) {
+        return overlapMasks[ordinal];
+    }
+
+    /**
+     * Returns the ordinal of the slot that immediately follows the given one
+     * on the same day, or -1 if there is none.
+     */
+    public int successorOf(int ordinal) {
+        return successors[ordinal];
+    }
+
+    /**
+     * Returns the number of slots in the longest consecutive run starting at
+     * the given ordinal, counting the slot itself.
+     */
+    public int runLengthAt(int ordinal) {
+        if (runLengths == null) {
+            computeRunLengths();
+        }
+        return runLengths[ordinal];
+    }
+
+    /**
+     * Returns the bitset of ordinals at which a consecutive run of
+     * {@code duration} slots starts. The array is cached and must not be modified.
+     */
+    public long[] runStarts(int duration) {
+        if (runLengths == null) {
+            computeRunLengths();
+        }
+        return runStarts.computeIfAbsent(duration, d -> {
+            long[] starts = BitSets.create(size);
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                if (runLengths[ordinal] >= d) {
+                    BitSets.set(starts, ordinal);
+                }
+            }
+            return starts;
+        });
+    }
+
+    /**
+     * Returns the bitset of ordinals overlapping any of the given slots.
+     * Slots outside the universe are matched by time.
+     */
+    public long[] maskOf(Collection<TimeSlot> timeSlots) {
+        long[] mask = BitSets.create(size);
+        for (TimeSlot timeSlot : timeSlots) {
+            int ordinal = ordinalOf(timeSlot);
+            if (ordinal >= 0) {
+                long[] overlap = overlapMasks[ordinal];
+                for (int i = 0; i < overlap.length && i < mask.length; i++) {
+                    mask[i] |= overlap[i];
+                }
+                continue;
+            }
+            for (int other = 0; other < size; other++) {
+                if (slots[other].overlapsWith(timeSlot)) {
+                    BitSets.set(mask, other);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the ordinal of a slot, registering it if this universe is growable.
+     *
+     * @throws IllegalArgumentException if the slot is unknown to a fixed universe
+     */
+    int resolve(TimeSlot timeSlot) {
+        Integer ordinal = ordinals.get(timeSlot);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        if (!growable) {
+            throw new IllegalArgumentException("Time slot is not part of this universe: " + timeSlot);
+        }
+        return register(timeSlot);
+    }
+
+    private int register(TimeSlot timeSlot) {
+        int ordinal = size;
+        if (ordinal == slots.length) {
+            int capacity = Math.max(16, slots.length * 2);
+            slots = Arrays.copyOf(slots, capacity);
+            overlapMasks = Arrays.copyOf(overlapMasks, capacity);
+            successors = Arrays.copyOf(successors, capacity);
+        }
+
+        long[] mask = BitSets.create(ordinal + 1);
+        int successor = NO_SUCCESSOR;
+        for (int other = 0; other < ordinal; other++) {
+            TimeSlot otherSlot = slots[other];
+            if (otherSlot.overlapsWith(timeSlot)) {
+                BitSets.set(mask, other);
+                overlapMasks[other] = BitSets.ensureCapacity(overlapMasks[other], ordinal + 1);
+                BitSets.set(overlapMasks[other], ordinal);
+            }
+            if (successor == NO_SUCCESSOR && timeSlot.isConsecutiveWith(otherSlot)) {
+                successor = other;
+            }
+            if (successors[other] == NO_SUCCESSOR && otherSlot.isConsecutiveWith(timeSlot)) {
+                successors[other] = ordinal;
+            }
+        }
+        BitSets.set(mask, ordinal);
+
+        slots[ordinal] = timeSlot;
+        overlapMasks[ordinal] = mask;
+        successors[ordinal] = successor;
+        ordinals.put(timeSlot, ordinal);
+        size++;
+        runLengths = null;
+        runStarts.clear();
+        return ordinal;
+    }
+
+    private void computeRunLengths() {
+        int[] lengths = new int[size];
+        int[] chain = new int[size];
+        for (int start = 0; start < size; start++) {
+            // Walk to the end of the run or to a slot already measured, then fill in backwards
+            int count = 0;
+            int ordinal = start;
+            while (ordinal != NO_SUCCESSOR && lengths[ordinal] == 0) {
+                chain[count++] = ordinal;
+                ordinal = successors[ordinal];
+            }
+            int length = ordinal == NO_SUCCESSOR ? 0 : lengths[ordinal];
+            while (count > 0) {
+                lengths[chain[--count]] = ++length;
+            }
+        }
+        runLengths = lengths;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TimeSlotUniverse{slots=%d}", size);
+    }
+}
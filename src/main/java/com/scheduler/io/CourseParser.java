@@ -1,6 +1,7 @@
 package com.scheduler.io;
 
 import com.scheduler.domain.Course;
+import com.scheduler.domain.FeatureDictionary;
 import com.scheduler.domain.TimeSlot;
 
 import java.util.HashSet;
@@ -16,10 +17,21 @@ import java.util.Set;
 public class CourseParser extends CsvParser<Course> {
     
     private final Map<String, TimeSlot> timeSlotMap;
+    private final FeatureDictionary featureDictionary;
 
     public CourseParser(Map<String, TimeSlot> timeSlotMap) {
+        this(timeSlotMap, null);
+    }
+
+    /**
+     * Creates a parser that interns the features of the courses into the given
+     * dictionary, which should be shared by the room and course parsers of
+     * one input. A null dictionary keeps features as plain sets.
+     */
+    public CourseParser(Map<String, TimeSlot> timeSlotMap, FeatureDictionary featureDictionary) {
         super("courses.csv");
         this.timeSlotMap = timeSlotMap;
+        this.featureDictionary = featureDictionary;
     }
 
     @Override
@@ -62,6 +74,7 @@ public class CourseParser extends CsvParser<Course> {
             .professorId(professorId)
             .requiredFeatures(requiredFeatures)
             .preferredTimeWindows(preferredTimeWindows)
+            .featureDictionary(featureDictionary)
             .build();
     }
 }
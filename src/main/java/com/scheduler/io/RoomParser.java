@@ -1,5 +1,6 @@
 package com.scheduler.io;
 
+import com.scheduler.domain.FeatureDictionary;
 import com.scheduler.domain.Room;
 import com.scheduler.domain.TimeSlot;
 
@@ -16,10 +17,21 @@ import java.util.Set;
 public class RoomParser extends CsvParser<Room> {
     
     private final Map<String, TimeSlot> timeSlotMap;
+    private final FeatureDictionary featureDictionary;
 
     public RoomParser(Map<String, TimeSlot> timeSlotMap) {
+        this(timeSlotMap, null);
+    }
+
+    /**
+     * Creates a parser that interns the features of the rooms into the given
+     * dictionary, which should be shared by the room and course parsers of
+     * one input. A null dictionary keeps features as plain sets.
+     */
+    public RoomParser(Map<String, TimeSlot> timeSlotMap, FeatureDictionary featureDictionary) {
         super("rooms.csv");
         this.timeSlotMap = timeSlotMap;
+        this.featureDictionary = featureDictionary;
     }
 
     @Override
@@ -58,6 +70,7 @@ public class RoomParser extends CsvParser<Room> {
             .capacity(capacity)
             .features(features)
             .unavailableTimeSlots(unavailableSlots)
+            .featureDictionary(featureDictionary)
             .build();
     }
 }
@@ -0,0 +1,291 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.domain.Schedule;
+import com.scheduler.util.BitSets;
+
+/**
+ * Restores arc consistency of the pairwise no-overlap relations between
+ * unassigned courses after forward checking, in the manner of AC-3.
+ *
+ * <p>Courses of the same professor may not overlap, and neither may courses
+ * in the same room. A value of one course is supported by another course if
+ * that course still has a value compatible with it. Since the relations only
+ * compare times, support depends on the live starts of the other course: a
+ * value overlapping every live start of a course of the same professor has no
+ * support, and neither has a value in the only room a course has left that
+ * overlaps all of that course's live starts. Revisions therefore check each
+ * start of a course once and only scan its values when a start lost support.
+ *
+ * <p>A course is queued when it loses every value at some start or is left
+ * with values in a single room, the only changes that can cost others their
+ * support; its neighbours are revised against it, and those changed that way
+ * are queued in turn, until nothing changes or a domain that may not be left
+ * out is wiped out. A course whose professor may still leave courses out
+ * constrains no one, since it needs no compatible value, and courses whose
+ * professor has reached their maximum load are left alone as in
+ * {@link ForwardChecker}.
+ *
+ * <p>Instances hold scratch state, so each search uses its own.
+ */
+final class ArcConsistency {
+
+    private final SearchModel model;
+    private final int[] queue;
+    private final boolean[] queued;
+    private final int[] liveStarts;
+    private final int[] checked;
+    private final boolean[] supported;
+    private final int[] roomChecked;
+    private int head;
+    private int queueSize;
+    private int stamp;
+    private int propagation;
+    private boolean emptiedStart;
+
+    ArcConsistency(SearchModel model) {
+        int slotCount = model.slotUniverse().size();
+        this.model = model;
+        this.queue = new int[model.courseCount()];
+        this.queued = new boolean[model.courseCount()];
+        this.liveStarts = new int[slotCount];
+        this.checked = new int[slotCount];
+        this.supported = new boolean[slotCount];
+        this.roomChecked = new int[model.courseCount()];
+    }
+
+    /**
+     * Propagates the removals made from {@code domains} since {@code mark}.
+     *
+     * @param dropsLeft per professor, how many more courses may be left out
+     * @param conflicts told the cause of every revision, for backjumping; may be null
+     * @param depth the depth of the assignment being propagated
+     * @return the first unassigned course left with an empty domain that may
+     *         not be left out, or -1 if there is none
+     */
+    int propagate(
+        CourseDomains domains,
+        int mark,
+        boolean[] unassigned,
+        Schedule schedule,
+        int[] dropsLeft,
+        ConflictSets conflicts,
+        int depth
+    ) {
+        propagation++;
+        for (int position = mark; position < domains.mark(); position++) {
+            int course = domains.trailCourse(position);
+            if (queued[course]) {
+                continue;
+            }
+            if (domains.liveAt(course, model.startOrdinal(course, domains.trailValue(position))) == 0) {
+                enqueue(course);
+            } else if (roomChecked[course] != propagation) {
+                roomChecked[course] = propagation;
+                if (onlyRoom(course, domains) >= 0) {
+                    enqueue(course);
+                }
+            }
+        }
+        return revise(domains, unassigned, schedule, dropsLeft, conflicts, depth);
+    }
+
+    /**
+     * Makes the domains of the first {@code count} courses of {@code order}
+     * arc consistent before the search makes its first decision.
+     *
+     * @return the first course left with an empty domain that may not be left
+     *         out, or -1 if there is none
+     */
+    int establish(
+        int[] order,
+        int count,
+        CourseDomains domains,
+        boolean[] unassigned,
+        Schedule schedule,
+        int[] dropsLeft
+    ) {
+        for (int i = 0; i < count; i++) {
+            enqueue(order[i]);
+        }
+        // Nothing has been decided yet, so there is nothing to blame
+        return revise(domains, unassigned, schedule, dropsLeft, null, -1);
+    }
+
+    /**
+     * Revises the neighbours of queued courses until the queue runs empty.
+     */
+    private int revise(
+        CourseDomains domains,
+        boolean[] unassigned,
+        Schedule schedule,
+        int[] dropsLeft,
+        ConflictSets conflicts,
+        int depth
+    ) {
+        while (queueSize > 0) {
+            int course = poll();
+            int professor = model.professorIndex(course);
+            if (!unassigned[course] || dropsLeft[professor] > 0) {
+                continue;
+            }
+            int startCount = liveStarts(course, domains);
+
+            for (int other : model.coursesOfProfessor(professor)) {
+                if (other != course && revisable(other, unassigned, schedule)
+                        && revise(other, course, startCount, 0, model.candidateCount(other), domains)
+                        && changed(other, course, domains, dropsLeft, conflicts, depth)) {
+                    return other;
+                }
+            }
+
+            int room = onlyRoom(course, domains);
+            if (room < 0) {
+                continue;
+            }
+            int[] roomCourses = model.coursesInRoom(room);
+            int[] from = model.roomRangeFrom(room);
+            int[] to = model.roomRangeTo(room);
+            for (int i = 0; i < roomCourses.length; i++) {
+                int other = roomCourses[i];
+                // Courses of the same professor were revised against every room above
+                if (model.professorIndex(other) != professor && revisable(other, unassigned, schedule)
+                        && revise(other, course, startCount, from[i], to[i], domains)
+                        && changed(other, course, domains, dropsLeft, conflicts, depth)) {
+                    return other;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean revisable(int course, boolean[] unassigned, Schedule schedule) {
+        return unassigned[course] && !model.atMaxLoad(course, schedule);
+    }
+
+    /**
+     * Removes the values of {@code course} between {@code from} and {@code to}
+     * that overlap every live start of {@code support}, which are the first
+     * {@code startCount} entries of {@link #liveStarts}.
+     *
+     * @return true if any value was removed
+     */
+    private boolean revise(int course, int support, int startCount, int from, int to, CourseDomains domains) {
+        stamp++;
+        boolean unsupported = false;
+        long[] slots = model.compatibleSlots(course);
+        for (int start = BitSets.nextSetBit(slots, 0); start >= 0; start = BitSets.nextSetBit(slots, start + 1)) {
+            if (domains.liveAt(course, start) > 0) {
+                unsupported |= !isSupported(course, start, support, startCount);
+            }
+        }
+        if (!unsupported) {
+            return false;
+        }
+
+        boolean removed = false;
+        emptiedStart = false;
+        for (int v = domains.next(course, from); v >= 0 && v < to; v = domains.next(course, v + 1)) {
+            int start = model.startOrdinal(course, v);
+            if (!isSupported(course, start, support, startCount) && domains.remove(course, v)) {
+                removed = true;
+                emptiedStart |= domains.liveAt(course, start) == 0;
+            }
+        }
+        return removed;
+    }
+
+    private boolean isSupported(int course, int start, int support, int startCount) {
+        if (checked[start] == stamp) {
+            return supported[start];
+        }
+        checked[start] = stamp;
+        supported[start] = false;
+        long[] footprint = model.startFootprint(course, start);
+        for (int i = 0; i < startCount; i++) {
+            if (!BitSets.intersects(footprint, model.startSlots(support, liveStarts[i]))) {
+                supported[start] = true;
+                break;
+            }
+        }
+        return supported[start];
+    }
+
+    /**
+     * Reports the revision of {@code course} against {@code cause}.
+     *
+     * @return true if it wiped out a domain that may not be left out
+     */
+    private boolean changed(
+        int course,
+        int cause,
+        CourseDomains domains,
+        int[] dropsLeft,
+        ConflictSets conflicts,
+        int depth
+    ) {
+        if (conflicts != null) {
+            conflicts.propagated(depth, course, cause);
+        }
+        if (domains.size(course) == 0 && dropsLeft[model.professorIndex(course)] == 0) {
+            while (queueSize > 0) {
+                poll();
+            }
+            return true;
+        }
+        if (emptiedStart || onlyRoom(course, domains) >= 0) {
+            enqueue(course);
+        }
+        return false;
+    }
+
+    /**
+     * Lists the live starts of {@code course} in {@link #liveStarts}.
+     *
+     * @return how many there are
+     */
+    private int liveStarts(int course, CourseDomains domains) {
+        int count = 0;
+        long[] slots = model.compatibleSlots(course);
+        for (int start = BitSets.nextSetBit(slots, 0); start >= 0; start = BitSets.nextSetBit(slots, start + 1)) {
+            if (domains.liveAt(course, start) > 0) {
+                liveStarts[count++] = start;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the room of every live value of {@code course}, or -1 if they
+     * lie in more than one room or there are none.
+     */
+    private int onlyRoom(int course, CourseDomains domains) {
+        int first = domains.next(course, 0);
+        if (first < 0) {
+            return -1;
+        }
+        int room = model.roomIndex(course, first);
+        // Candidates are room-major, so a second room shows up right after the first one's values
+        for (int v = domains.next(course, first + 1); v >= 0; v = domains.next(course, v + 1)) {
+            if (model.roomIndex(course, v) != room) {
+                return -1;
+            }
+        }
+        return room;
+    }
+
+    private void enqueue(int course) {
+        if (!queued[course]) {
+            queued[course] = true;
+            queue[(head + queueSize) % queue.length] = course;
+            queueSize++;
+        }
+    }
+
+    private int poll() {
+        int course = queue[head];
+        queued[course] = false;
+        head = (head + 1) % queue.length;
+        queueSize--;
+        return course;
+    }
+}
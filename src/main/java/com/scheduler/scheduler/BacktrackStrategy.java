@@ -0,0 +1,17 @@
+package com.scheduler.scheduler;
+
+/**
+ * How the complete search retreats from a course that has run out of values.
+ */
+public enum BacktrackStrategy {
+    /**
+     * Retry the most recent decision.
+     */
+    CHRONOLOGICAL,
+
+    /**
+     * Jump back to the most recent decision that caused the dead end, and
+     * remember the conflicting assignments as a nogood.
+     */
+    CONFLICT_DIRECTED
+}
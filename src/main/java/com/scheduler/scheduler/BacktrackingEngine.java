@@ -0,0 +1,17 @@
+package com.scheduler.scheduler;
+
+/**
+ * Execution strategy for the generate-and-test search.
+ */
+public enum BacktrackingEngine {
+    /**
+     * One Java stack frame per course; deep terms risk {@link StackOverflowError}.
+     */
+    RECURSIVE,
+
+    /**
+     * The same search on an explicit, preallocated choice-point stack, so the
+     * Java stack depth does not depend on the number of courses.
+     */
+    ITERATIVE
+}
@@ -6,10 +6,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.BooleanSupplier;
 
 /**
  * Backtracking scheduler with constraint satisfaction and heuristics.
+ * With {@link ConsistencyLevel#NONE}, static ordering, chronological
+ * backtracking and no subtree splitting it runs the generate-and-test search below, or its {@link IterativeBacktracker}
+ * form; other configurations delegate to {@link ConstraintSearch}, or to
+ * {@link RestartingSearch} with a {@link RestartStrategy}, and with
+ * {@link SchedulerConfig#isTwoPhase()} to {@link TwoPhaseSearch} unless the
+ * validator has schedule constraints it does not {@link TwoPhaseSearch#supports
+ * support}. With
+ * {@link SchedulerConfig#isFeasibilityCheck()} the search is preceded by
+ * {@link FeasibilityAnalyzer}, whose proof that not every course fits is
+ * reported alongside the schedule. With a
+ * positive {@link SchedulerConfig#getRepairMillis()} the search stops that much
+ * before the timeout, and a partial schedule is then completed by
+ * {@link LargeNeighbourhoodSearch} where possible in the time left, and with a
+ * positive {@link SchedulerConfig#getOptimizationMillis()} the schedule is
+ * finally improved by {@link LocalSearchOptimizer}, unless the validator has
+ * schedule constraints it does not {@link LocalSearchOptimizer#supports support}.
  */
 public class BacktrackingScheduler implements Scheduler {
     
@@ -17,12 +33,39 @@ public class BacktrackingScheduler implements Scheduler {
 
     private final SchedulerConfig config;
     private final ConstraintValidator validator;
+    private final boolean shuffleTies;
+    private final BooleanSupplier cancelled;
+    private final ConflictWeights sharedWeights;
+    // The configuration of the search itself, whose timeout leaves room for repair
+    private SchedulerConfig searchConfig;
     private long startTime;
     private int iterationCount;
 
     public BacktrackingScheduler(SchedulerConfig config, ConstraintValidator validator) {
+        this(config, validator, false, () -> false, null);
+    }
+
+    /**
+     * Creates a scheduler for one portfolio worker.
+     *
+     * @param shuffleTies whether to break room and slot ordering ties randomly,
+     *                    seeded from {@link SchedulerConfig#getSeed()}
+     * @param cancelled polled at every budget check; once true the search stops
+     * @param sharedWeights failure counts and constraint weights shared with
+     *                      other workers, or null to learn them per run
+     */
+    BacktrackingScheduler(
+        SchedulerConfig config,
+        ConstraintValidator validator,
+        boolean shuffleTies,
+        BooleanSupplier cancelled,
+        ConflictWeights sharedWeights
+    ) {
         this.config = config;
         this.validator = validator;
+        this.shuffleTies = shuffleTies;
+        this.cancelled = cancelled;
+        this.sharedWeights = sharedWeights;
     }
 
     public BacktrackingScheduler(SchedulerConfig config) {
@@ -38,30 +81,103 @@ public class BacktrackingScheduler implements Scheduler {
     ) {
         startTime = System.currentTimeMillis();
         iterationCount = 0;
+        searchConfig = config.getRepairMillis() > 0
+            ? config.toBuilder()
+                .timeoutMillis(config.getTimeoutMillis() - config.getRepairMillis())
+                .repairMillis(0)
+                .build()
+            : config;
+        Random tieBreaker = shuffleTies ? new Random(config.getSeed()) : null;
 
         logger.info("Starting scheduling process for {} courses", courses.size());
 
-        // Create lookup maps
-        Map<String, Professor> professorMap = professors.stream()
-            .collect(Collectors.toMap(Professor::getId, p -> p));
-
         // Order courses by difficulty
         List<Course> orderedCourses = Heuristics.orderCoursesByDifficulty(courses);
 
-        Schedule schedule = new Schedule();
+        // Room and slot-run candidates do not depend on search state, so they are
+        // ordered and filtered once up front
+        TimeSlotUniverse slotUniverse = TimeSlotUniverse.of(timeSlots);
+        SearchModel model = SearchModel.build(
+            orderedCourses, professors, rooms, slotUniverse, validator, tieBreaker);
+        Schedule schedule = new Schedule(slotUniverse);
         List<String> unscheduledCourses = new ArrayList<>();
         List<String> messages = new ArrayList<>();
 
-        boolean success = backtrack(
-            orderedCourses,
-            0,
-            schedule,
-            professorMap,
-            rooms,
-            timeSlots,
-            unscheduledCourses,
-            messages
-        );
+        boolean success;
+        long nodesExplored;
+        boolean twoPhase = config.isTwoPhase() && TwoPhaseSearch.supports(validator);
+        if (config.isTwoPhase() && !twoPhase) {
+            logger.warn("Two-phase search cannot check custom schedule constraints; using the complete search");
+            messages.add("Two-phase search ignored: the validator checks schedule constraints it does not enforce");
+        }
+        boolean generateAndTest = config.getConsistencyLevel() == ConsistencyLevel.NONE
+            && config.getVariableOrdering() == VariableOrdering.STATIC
+            && config.getSplitDepth() == 0
+            && config.getBacktrackStrategy() == BacktrackStrategy.CHRONOLOGICAL
+            && config.getRestartStrategy() == RestartStrategy.NONE
+            && !twoPhase
+            && !config.isSymmetryBreaking();
+        String bottleneck = config.isFeasibilityCheck() ? new FeasibilityAnalyzer(model).findBottleneck() : null;
+        if (bottleneck != null) {
+            // Which of the courses to leave out is still up to the search
+            logger.warn("Not every course can be placed: {}", bottleneck);
+            messages.add(bottleneck);
+        }
+        if (twoPhase) {
+            TwoPhaseSearch search = new TwoPhaseSearch(
+                model, searchConfig, validator, new SearchBudget(searchConfig, startTime, cancelled));
+            success = search.solve(schedule, unscheduledCourses, messages);
+            nodesExplored = search.getNodesExplored();
+        } else if (generateAndTest && config.getEngine() == BacktrackingEngine.ITERATIVE) {
+            IterativeBacktracker backtracker = new IterativeBacktracker(searchConfig, validator, startTime, cancelled);
+            success = backtracker.run(model, schedule, unscheduledCourses, messages);
+            nodesExplored = backtracker.getIterationCount();
+        } else if (generateAndTest) {
+            success = backtrack(model, 0, schedule, unscheduledCourses, messages);
+            nodesExplored = iterationCount;
+        } else if (config.getRestartStrategy() != RestartStrategy.NONE) {
+            RestartingSearch search = new RestartingSearch(model, searchConfig, validator,
+                new SearchBudget(searchConfig, startTime, cancelled),
+                sharedWeights != null ? sharedWeights : new ConflictWeights(model));
+            success = search.solve(schedule, unscheduledCourses, messages);
+            nodesExplored = search.getNodesExplored();
+        } else {
+            ConstraintSearch search = new ConstraintSearch(
+                model, searchConfig, validator, new SearchBudget(searchConfig, startTime, cancelled), sharedWeights);
+            success = search.solve(schedule, unscheduledCourses, messages);
+            nodesExplored = search.getNodesExplored();
+        }
+
+        // A search stopped by its share of the timeout may not have listed any course yet
+        if (config.getRepairMillis() > 0 && schedule.getScheduledCoursesCount() < model.courseCount()) {
+            LargeNeighbourhoodSearch repair = new LargeNeighbourhoodSearch(model, config, validator, cancelled);
+            int placedBefore = schedule.getScheduledCoursesCount();
+            long remaining = Math.max(0, config.getTimeoutMillis() - (System.currentTimeMillis() - startTime));
+            repair.repair(schedule, Math.min(config.getRepairMillis(), remaining));
+            unscheduledCourses.removeIf(courseId -> schedule.getAssignment(courseId).isPresent());
+            // A stopped search does not list the courses it never reached
+            for (int c = 0; c < model.courseCount(); c++) {
+                String courseId = model.course(c).getId();
+                if (schedule.getAssignment(courseId).isEmpty() && !unscheduledCourses.contains(courseId)) {
+                    unscheduledCourses.add(courseId);
+                }
+            }
+            messages.add("Repair placed " + (schedule.getScheduledCoursesCount() - placedBefore) +
+                " more courses in " + repair.getRounds() + " neighbourhood searches");
+            success = unscheduledCourses.isEmpty();
+        }
+
+        List<ImprovementStep> improvementCurve = List.of();
+        if (config.getOptimizationMillis() > 0 && !LocalSearchOptimizer.supports(validator)) {
+            logger.warn("Local search cannot check custom schedule constraints; skipping optimization");
+            messages.add("Local search skipped: the validator checks schedule constraints it does not enforce");
+        } else if (config.getOptimizationMillis() > 0) {
+            improvementCurve = new LocalSearchOptimizer(model, validator, config.getSeed())
+                .optimize(schedule, config.getOptimizationMillis());
+            int before = improvementCurve.get(0).getPenalty();
+            int after = improvementCurve.get(improvementCurve.size() - 1).getPenalty();
+            messages.add("Local search reduced soft constraint violations from " + before + " to " + after);
+        }
 
         long executionTime = System.currentTimeMillis() - startTime;
 
@@ -74,22 +190,21 @@ public class BacktrackingScheduler implements Scheduler {
             .unscheduledCourses(unscheduledCourses)
             .messages(messages)
             .executionTimeMillis(executionTime)
+            .nodesExplored(nodesExplored)
+            .improvementCurve(improvementCurve)
             .build();
     }
 
     private boolean backtrack(
-        List<Course> courses,
+        SearchModel model,
         int courseIndex,
         Schedule schedule,
-        Map<String, Professor> professorMap,
-        List<Room> rooms,
-        List<TimeSlot> timeSlots,
         List<String> unscheduledCourses,
         List<String> messages
     ) {
         // Check timeout
-        if (System.currentTimeMillis() - startTime > config.getTimeoutMillis()) {
-            messages.add("Scheduling timed out after " + config.getTimeoutMillis() + " ms");
+        if (System.currentTimeMillis() - startTime > searchConfig.getTimeoutMillis()) {
+            messages.add("Scheduling timed out after " + searchConfig.getTimeoutMillis() + " ms");
             return false;
         }
 
@@ -99,39 +214,40 @@ public class BacktrackingScheduler implements Scheduler {
             return false;
         }
 
+        if (cancelled.getAsBoolean()) {
+            messages.add("Search cancelled");
+            return false;
+        }
+
         // Base case: all courses scheduled
-        if (courseIndex >= courses.size()) {
+        if (courseIndex >= model.courseCount()) {
             return true;
         }
 
-        Course course = courses.get(courseIndex);
-        Professor professor = professorMap.get(course.getProfessorId());
+        Course course = model.course(courseIndex);
 
-        if (professor == null) {
+        if (model.professor(courseIndex) == null) {
             messages.add("Professor not found for course " + course.getId());
             unscheduledCourses.add(course.getId());
-            return backtrack(courses, courseIndex + 1, schedule, professorMap, 
-                rooms, timeSlots, unscheduledCourses, messages);
+            return backtrack(model, courseIndex + 1, schedule, unscheduledCourses, messages);
         }
 
-        // Try to assign this course
-        List<Room> orderedRooms = Heuristics.orderRoomsByFit(rooms, course);
-        List<TimeSlot> orderedSlots = Heuristics.orderTimeSlots(timeSlots, course);
-
-        for (Room room : orderedRooms) {
-            List<List<TimeSlot>> slotCombinations = generateConsecutiveSlots(
-                orderedSlots, course.getDuration());
-
-            for (List<TimeSlot> slots : slotCombinations) {
-                if (tryAssignment(course, room, slots, professor, schedule)) {
-                    // Assignment successful, continue with next course
-                    if (backtrack(courses, courseIndex + 1, schedule, professorMap, 
-                        rooms, timeSlots, unscheduledCourses, messages)) {
-                        return true;
-                    }
-                    // Backtrack: remove assignment
-                    removeAssignment(course, schedule);
+        if (model.atMaxLoad(courseIndex, schedule)) {
+            messages.add(model.maxLoadMessage(courseIndex));
+            unscheduledCourses.add(course.getId());
+            return backtrack(model, courseIndex + 1, schedule, unscheduledCourses, messages);
+        }
+
+        // Try to assign this course, in room-major candidate order
+        int mark = schedule.mark();
+        for (int candidate = 0; candidate < model.candidateCount(courseIndex); candidate++) {
+            if (tryAssignment(model, courseIndex, candidate, schedule)) {
+                // Assignment successful, continue with next course
+                if (backtrack(model, courseIndex + 1, schedule, unscheduledCourses, messages)) {
+                    return true;
                 }
+                // Backtrack: take back the assignment
+                schedule.restore(mark);
             }
         }
 
@@ -142,72 +258,18 @@ public class BacktrackingScheduler implements Scheduler {
             " - no valid room/time combination found");
 
         // Try to continue with remaining courses
-        return backtrack(courses, courseIndex + 1, schedule, professorMap, 
-            rooms, timeSlots, unscheduledCourses, messages);
+        return backtrack(model, courseIndex + 1, schedule, unscheduledCourses, messages);
     }
 
-    private boolean tryAssignment(
-        Course course,
-        Room room,
-        List<TimeSlot> timeSlots,
-        Professor professor,
-        Schedule schedule
-    ) {
+    private boolean tryAssignment(SearchModel model, int course, int candidate, Schedule schedule) {
         // Validate the assignment
-        ConstraintValidator.ConstraintValidationResult result = 
-            validator.validateMultiSlot(course, room, timeSlots, professor, schedule);
-
-        if (!result.isValid()) {
+        if (!validator.isFeasibleOnSchedule(model.course(course), model.room(course, candidate),
+                model.run(course, candidate), model.professor(course), schedule)) {
             return false;
         }
 
         // Add assignment to schedule
-        CourseAssignment assignment = new CourseAssignment(course, room, timeSlots);
-        schedule.addAssignment(assignment);
+        schedule.addAssignment(model.toAssignment(course, candidate));
         return true;
     }
-
-    private void removeAssignment(Course course, Schedule schedule) {
-        Optional<CourseAssignment> assignment = schedule.getAssignment(course.getId());
-        assignment.ifPresent(schedule::removeAssignment);
-    }
-
-    private List<List<TimeSlot>> generateConsecutiveSlots(
-        List<TimeSlot> availableSlots,
-        int duration
-    ) {
-        if (duration == 1) {
-            return availableSlots.stream()
-                .map(Collections::singletonList)
-                .collect(Collectors.toList());
-        }
-
-        List<List<TimeSlot>> combinations = new ArrayList<>();
-        List<TimeSlot> sortedSlots = availableSlots.stream()
-            .sorted()
-            .collect(Collectors.toList());
-
-        for (int i = 0; i <= sortedSlots.size() - duration; i++) {
-            List<TimeSlot> candidate = new ArrayList<>();
-            candidate.add(sortedSlots.get(i));
-
-            boolean valid = true;
-            for (int j = 1; j < duration; j++) {
-                TimeSlot previous = sortedSlots.get(i + j - 1);
-                TimeSlot current = sortedSlots.get(i + j);
-
-                if (!previous.isConsecutiveWith(current)) {
-                    valid = false;
-                    break;
-                }
-                candidate.add(current);
-            }
-
-            if (valid) {
-                combinations.add(candidate);
-            }
-        }
-
-        return combinations;
-    }
 }
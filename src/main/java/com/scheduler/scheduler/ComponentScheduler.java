@@ -0,0 +1,254 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Splits the courses into independent components and schedules each one
+ * separately, in parallel.
+ *
+ * <p>Two courses interact if they share a professor or could use the same
+ * room, i.e. a room that holds both enrollments and has both courses' required
+ * features. Courses in different connected components of this graph can never
+ * clash, so each component is handed to its own delegate scheduler with only
+ * its rooms and professors, and the component schedules are merged into one.
+ * Search cost grows exponentially with the number of courses searched
+ * together, so many small components are much cheaper than one large problem.
+ *
+ * <p>Components run on a fork-join pool of {@link SchedulerConfig#getWorkers()}
+ * threads, and each delegate is configured with a single worker, so the
+ * components are the only parallelism and no more threads search than
+ * configured. Each component gets a share of the iteration budget in
+ * proportion to its number of courses, so the run as a whole stays within
+ * the budget, and whatever is left of the timeout when it starts. The merged
+ * result succeeds only if every component does, and its improvement curve
+ * sums those of the components.
+ */
+public class ComponentScheduler implements Scheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComponentScheduler.class);
+
+    private final SchedulerConfig config;
+    private final Function<SchedulerConfig, Scheduler> delegates;
+
+    /**
+     * @param delegates creates the scheduler for one component from its
+     *                  configuration; called once per component, so the
+     *                  schedulers need not be thread-safe
+     */
+    public ComponentScheduler(SchedulerConfig config, Function<SchedulerConfig, Scheduler> delegates) {
+        if (config.getWorkers() < 1) {
+            throw new IllegalArgumentException("Worker count must be positive: " + config.getWorkers());
+        }
+        this.config = config;
+        this.delegates = delegates;
+    }
+
+    public ComponentScheduler(SchedulerConfig config, ConstraintValidator validator) {
+        this(config, componentConfig -> new BacktrackingScheduler(componentConfig, validator));
+    }
+
+    @Override
+    public ScheduleResult schedule(
+        List<Course> courses,
+        List<Professor> professors,
+        List<Room> rooms,
+        List<TimeSlot> timeSlots
+    ) {
+        long startTime = System.currentTimeMillis();
+        RoomIndex roomIndex = RoomIndex.of(rooms);
+        List<List<Course>> components = components(courses, roomIndex);
+
+        logger.info("Decomposed {} courses into {} independent components", courses.size(), components.size());
+        if (components.size() <= 1) {
+            return delegates.apply(config).schedule(courses, professors, rooms, timeSlots);
+        }
+
+        Map<String, Professor> professorsById = new HashMap<>();
+        for (Professor professor : professors) {
+            professorsById.putIfAbsent(professor.getId(), professor);
+        }
+
+        List<Callable<ScheduleResult>> tasks = new ArrayList<>(components.size());
+        for (List<Course> component : components) {
+            Set<Professor> componentProfessors = new LinkedHashSet<>();
+            Set<Room> componentRooms = new LinkedHashSet<>();
+            for (Course course : component) {
+                Professor professor = professorsById.get(course.getProfessorId());
+                if (professor != null) {
+                    componentProfessors.add(professor);
+                }
+                componentRooms.addAll(roomIndex.roomsFor(course));
+            }
+            int iterations = (int) Math.max(1, (long) config.getMaxIterations() * component.size() / courses.size());
+            tasks.add(() -> {
+                long elapsed = System.currentTimeMillis() - startTime;
+                long remaining = Math.max(0, config.getTimeoutMillis() - elapsed);
+                // Each component reserves the same share of what is left for repair
+                long repair = config.getRepairMillis() > 0
+                    ? config.getRepairMillis() * remaining / config.getTimeoutMillis()
+                    : 0;
+                Scheduler scheduler = delegates.apply(config.toBuilder()
+                    .timeoutMillis(remaining)
+                    .repairMillis(repair)
+                    .maxIterations(iterations)
+                    .workers(1)
+                    .build());
+                return scheduler.schedule(component, new ArrayList<>(componentProfessors),
+                    new ArrayList<>(componentRooms), timeSlots);
+            });
+        }
+
+        List<ScheduleResult> results = new ArrayList<>(components.size());
+        ForkJoinPool pool = new ForkJoinPool(config.getWorkers());
+        try {
+            for (Future<ScheduleResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for component searches", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Component search failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Schedule schedule = new Schedule(TimeSlotUniverse.of(timeSlots));
+        boolean success = true;
+        long nodesExplored = 0;
+        List<String> unscheduledCourses = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for (ScheduleResult result : results) {
+            // Components share no rooms or professors, so their assignments never clash
+            for (CourseAssignment assignment : result.getSchedule().getAssignments()) {
+                schedule.addAssignment(assignment);
+            }
+            success &= result.isSuccess();
+            nodesExplored += result.getNodesExplored();
+            unscheduledCourses.addAll(result.getUnscheduledCourses());
+            messages.addAll(result.getMessages());
+        }
+        messages.add("Decomposed " + courses.size() + " courses into " + components.size() +
+            " independent components");
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        logger.info("Component scheduling completed in {} ms. Success: {}, Scheduled: {}/{}",
+            executionTime, success, schedule.getScheduledCoursesCount(), courses.size());
+
+        return ScheduleResult.builder()
+            .success(success)
+            .schedule(schedule)
+            .unscheduledCourses(unscheduledCourses)
+            .messages(messages)
+            .executionTimeMillis(executionTime)
+            .nodesExplored(nodesExplored)
+            .improvementCurve(mergeCurves(results))
+            .build();
+    }
+
+    /**
+     * Sums the improvement curves of the components: the merged curve has a
+     * point whenever one component improves, holding the total penalty and
+     * moves at that time.
+     */
+    static List<ImprovementStep> mergeCurves(List<ScheduleResult> results) {
+        List<ImprovementStep> merged = new ArrayList<>();
+        int[] penalty = new int[results.size()];
+        long[] iterations = new long[results.size()];
+        List<int[]> events = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            List<ImprovementStep> curve = results.get(i).getImprovementCurve();
+            if (!curve.isEmpty()) {
+                penalty[i] = curve.get(0).getPenalty();
+            }
+            for (int step = 1; step < curve.size(); step++) {
+                events.add(new int[] {i, step});
+            }
+        }
+        if (results.stream().allMatch(result -> result.getImprovementCurve().isEmpty())) {
+            return merged;
+        }
+        events.sort((a, b) -> Long.compare(step(results, a).getElapsedMillis(), step(results, b).getElapsedMillis()));
+
+        merged.add(new ImprovementStep(0, 0, Arrays.stream(penalty).sum()));
+        for (int[] event : events) {
+            ImprovementStep step = step(results, event);
+            penalty[event[0]] = step.getPenalty();
+            iterations[event[0]] = step.getIteration();
+            merged.add(new ImprovementStep(step.getElapsedMillis(), Arrays.stream(iterations).sum(),
+                Arrays.stream(penalty).sum()));
+        }
+        return merged;
+    }
+
+    private static ImprovementStep step(List<ScheduleResult> results, int[] event) {
+        return results.get(event[0]).getImprovementCurve().get(event[1]);
+    }
+
+    /**
+     * Groups courses that share a professor or a usable room, transitively.
+     * Components come in the order of their first course, and courses keep
+     * their input order within a component.
+     */
+    static List<List<Course>> components(List<Course> courses, RoomIndex roomIndex) {
+        int[] parent = new int[courses.size()];
+        for (int c = 0; c < parent.length; c++) {
+            parent[c] = c;
+        }
+        Map<String, Integer> firstOfProfessor = new HashMap<>();
+        Map<Room, Integer> firstInRoom = new HashMap<>();
+        for (int c = 0; c < courses.size(); c++) {
+            Course course = courses.get(c);
+            Integer other = firstOfProfessor.putIfAbsent(course.getProfessorId(), c);
+            if (other != null) {
+                union(parent, c, other);
+            }
+            for (Room room : roomIndex.roomsFor(course)) {
+                other = firstInRoom.putIfAbsent(room, c);
+                if (other != null) {
+                    union(parent, c, other);
+                }
+            }
+        }
+
+        Map<Integer, List<Course>> byRoot = new LinkedHashMap<>();
+        for (int c = 0; c < courses.size(); c++) {
+            byRoot.computeIfAbsent(find(parent, c), root -> new ArrayList<>()).add(courses.get(c));
+        }
+        return new ArrayList<>(byRoot.values());
+    }
+
+    private static int find(int[] parent, int c) {
+        while (parent[c] != c) {
+            parent[c] = parent[parent[c]];
+            c = parent[c];
+        }
+        return c;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            // Keep the earlier course as root so component order follows the input
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.constraints.ProfessorAvailabilityConstraint;
+import com.scheduler.constraints.RoomAvailabilityConstraint;
+import com.scheduler.constraints.ValidationResult;
+import com.scheduler.util.BitSets;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bookkeeping for conflict-directed backjumping in {@link ConstraintSearch}.
+ *
+ * <p>For every search depth it keeps the set of earlier depths whose assignments
+ * ruled out one of its values, and for every course the depths whose forward
+ * checking removed values from its domain. When a course runs out of values,
+ * the union of the two is the reason; the search jumps back to its deepest
+ * member and records the involved assignments as a nogood.
+ *
+ * <p>Nogoods are kept in a FIFO store of bounded size and checked before each
+ * new assignment, so a failure explained once is not searched again in a
+ * sibling subtree. Assignments made before the search started are fixed and
+ * never appear in a conflict set.
+ *
+ * <p>Values removed by {@link ArcConsistency} for want of support in another
+ * course are also blamed on whatever pruned that course.
+ *
+ * <p>Leaving a course out is a decision like any other and is recorded with
+ * value -1. A course that runs out of values while its professor may not have
+ * any more courses left out is blamed on the depths that left them out.
+ */
+final class ConflictSets {
+
+    private static final String PROFESSOR_CLASH = new ProfessorAvailabilityConstraint().getName();
+    private static final String ROOM_CLASH = new RoomAvailabilityConstraint().getName();
+
+    private final SearchModel model;
+    private final int[] depthOf;
+    private final int[] valueOf;
+    private final int[] courseAt;
+    private final long[][] conflicts;
+    private final long[][] prunedBy;
+    private final Deque<Propagation> propagations = new ArrayDeque<>();
+
+    private final int nogoodCapacity;
+    private final Deque<Nogood> nogoods = new ArrayDeque<>();
+    private final List<List<Nogood>> nogoodsByCourse;
+
+    ConflictSets(SearchModel model, int depthCount, int nogoodCapacity) {
+        int courseCount = model.courseCount();
+        this.model = model;
+        this.depthOf = new int[courseCount];
+        this.valueOf = new int[courseCount];
+        this.courseAt = new int[depthCount];
+        this.conflicts = new long[depthCount][];
+        this.prunedBy = new long[courseCount][];
+        this.nogoodCapacity = nogoodCapacity;
+        this.nogoodsByCourse = new ArrayList<>(courseCount);
+        Arrays.fill(depthOf, -1);
+        for (int d = 0; d < depthCount; d++) {
+            conflicts[d] = BitSets.create(depthCount);
+        }
+        for (int c = 0; c < courseCount; c++) {
+            prunedBy[c] = BitSets.create(depthCount);
+            nogoodsByCourse.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Starts a fresh frame for {@code course} at {@code depth}.
+     */
+    void open(int depth, int course) {
+        courseAt[depth] = course;
+        Arrays.fill(conflicts[depth], 0L);
+    }
+
+    void assign(int depth, int course, int value) {
+        depthOf[course] = depth;
+        valueOf[course] = value;
+    }
+
+    /**
+     * Records that the course at {@code depth} was left out.
+     */
+    void drop(int depth, int course) {
+        depthOf[course] = depth;
+        valueOf[course] = -1;
+    }
+
+    void unassign(int course) {
+        depthOf[course] = -1;
+    }
+
+    /**
+     * Records that the assignment at {@code depth} pruned the domains changed
+     * since {@code mark}.
+     */
+    void recordPruning(int depth, CourseDomains domains, int mark) {
+        for (int position = mark; position < domains.mark(); position++) {
+            BitSets.set(prunedBy[domains.trailCourse(position)], depth);
+        }
+    }
+
+    /**
+     * Forgets the pruning recorded for {@code depth}; must be called before the
+     * domains are restored to {@code mark}.
+     */
+    void undoPruning(int depth, CourseDomains domains, int mark) {
+        for (int position = mark; position < domains.mark(); position++) {
+            BitSets.clear(prunedBy[domains.trailCourse(position)], depth);
+        }
+    }
+
+    /**
+     * Blames the values of {@code course} that arc consistency removed at
+     * {@code depth} for want of support in {@code cause} on the depths that
+     * pruned {@code cause}, and on those that left out courses of its
+     * professor, which made {@code cause} required. Undone by
+     * {@link #undoPropagation}.
+     */
+    void propagated(int depth, int course, int cause) {
+        propagations.push(new Propagation(depth, course, prunedBy[course].clone()));
+        BitSets.or(prunedBy[course], prunedBy[cause]);
+        for (int other : model.coursesOfProfessor(model.professorIndex(cause))) {
+            if (depthOf[other] >= 0 && valueOf[other] < 0) {
+                BitSets.set(prunedBy[course], depthOf[other]);
+            }
+        }
+    }
+
+    /**
+     * Forgets the causes recorded by {@link #propagated} at {@code depth}.
+     */
+    void undoPropagation(int depth) {
+        while (!propagations.isEmpty() && propagations.peek().depth == depth) {
+            Propagation propagation = propagations.pop();
+            prunedBy[propagation.course] = propagation.prunedBefore;
+        }
+    }
+
+    /**
+     * Blames a value at {@code depth} that left {@code wipedOut} without values
+     * on the depths that had already pruned that course, and on those that used
+     * up its professor's allowance of courses left out.
+     */
+    void wipedOut(int depth, int wipedOut) {
+        BitSets.or(conflicts[depth], prunedBy[wipedOut]);
+        noDropsLeft(depth, model.professorIndex(wipedOut));
+    }
+
+    /**
+     * Blames the dead end at {@code depth} on the depths that left out courses
+     * of {@code professor}, since the course there may no longer be left out.
+     */
+    void noDropsLeft(int depth, int professor) {
+        for (int other : model.coursesOfProfessor(professor)) {
+            if (depthOf[other] >= 0 && valueOf[other] < 0) {
+                BitSets.set(conflicts[depth], depthOf[other]);
+            }
+        }
+    }
+
+    /**
+     * Blames a value rejected by the validator on the assigned courses that
+     * clash with it in the failed constraints.
+     */
+    void rejected(int depth, int course, int value, ConstraintValidator.ConstraintValidationResult result) {
+        long[] footprint = model.runFootprint(course, value);
+        for (ValidationResult failure : result.getFailedResults()) {
+            if (failure.getConstraintName().equals(PROFESSOR_CLASH)) {
+                for (int other : model.coursesOfProfessor(model.professorIndex(course))) {
+                    blameIfClashing(depth, other, footprint);
+                }
+            } else if (failure.getConstraintName().equals(ROOM_CLASH)) {
+                int room = model.roomIndex(course, value);
+                for (int other : model.coursesInRoom(room)) {
+                    if (depthOf[other] >= 0 && valueOf[other] >= 0 && model.roomIndex(other, valueOf[other]) == room) {
+                        blameIfClashing(depth, other, footprint);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if assigning {@code value} to {@code course} completes a
+     * stored nogood, blaming the nogood's other assignments.
+     */
+    boolean violatesNogood(int depth, int course, int value) {
+        for (Nogood nogood : nogoodsByCourse.get(course)) {
+            if (nogood.holdsWith(course, value)) {
+                for (int c : nogood.courses) {
+                    if (c != course) {
+                        BitSets.set(conflicts[depth], depthOf[c]);
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Explains the dead end of the course at {@code depth} and returns the
+     * depth to jump back to, or -1 if no earlier decision is to blame.
+     */
+    int backjump(int depth) {
+        long[] reason = conflicts[depth].clone();
+        BitSets.or(reason, prunedBy[courseAt[depth]]);
+        int target = BitSets.previousSetBit(reason, depth);
+        if (target < 0) {
+            return -1;
+        }
+        learn(reason, depth);
+        BitSets.clear(reason, target);
+        BitSets.or(conflicts[target], reason);
+        return target;
+    }
+
+    private void blameIfClashing(int depth, int other, long[] footprint) {
+        if (depthOf[other] >= 0 && valueOf[other] >= 0
+                && BitSets.intersects(footprint, model.runSlots(other, valueOf[other]))) {
+            BitSets.set(conflicts[depth], depthOf[other]);
+        }
+    }
+
+    private void learn(long[] reason, int depth) {
+        if (nogoodCapacity <= 0) {
+            return;
+        }
+        int size = 0;
+        int[] courses = new int[BitSets.cardinality(reason)];
+        int[] values = new int[courses.length];
+        for (int d = BitSets.nextSetBit(reason, 0); d >= 0 && d < depth; d = BitSets.nextSetBit(reason, d + 1)) {
+            courses[size] = courseAt[d];
+            values[size] = valueOf[courseAt[d]];
+            size++;
+        }
+        Nogood nogood = new Nogood(Arrays.copyOf(courses, size), Arrays.copyOf(values, size));
+        if (nogoods.size() == nogoodCapacity) {
+            Nogood evicted = nogoods.removeFirst();
+            for (int c : evicted.courses) {
+                nogoodsByCourse.get(c).remove(evicted);
+            }
+        }
+        nogoods.addLast(nogood);
+        for (int c : nogood.courses) {
+            nogoodsByCourse.get(c).add(nogood);
+        }
+    }
+
+    /**
+     * The causes of a course's pruning before a propagation added to them.
+     */
+    private static final class Propagation {
+        private final int depth;
+        private final int course;
+        private final long[] prunedBefore;
+
+        Propagation(int depth, int course, long[] prunedBefore) {
+            this.depth = depth;
+            this.course = course;
+            this.prunedBefore = prunedBefore;
+        }
+    }
+
+    /**
+     * Assignments that cannot all hold at once.
+     */
+    private final class Nogood {
+        private final int[] courses;
+        private final int[] values;
+
+        Nogood(int[] courses, int[] values) {
+            this.courses = courses;
+            this.values = values;
+        }
+
+        boolean holdsWith(int course, int value) {
+            for (int i = 0; i < courses.length; i++) {
+                if (courses[i] == course) {
+                    if (values[i] != value) {
+                        return false;
+                    }
+                } else if (depthOf[courses[i]] < 0 || valueOf[courses[i]] != values[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.util.BitSets;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * What a search has learned about where it fails, kept across the searches of
+ * one scheduling run: restarts, parallel subtrees and portfolio workers.
+ *
+ * <p>Every course counts how often it was a dead end or had its domain wiped
+ * out. Every professor and room is one constraint over the courses that could
+ * use it (no two of them may overlap in time), and its weight counts the
+ * wipe-outs it caused. The weighted degree of a course is 1 plus the weight of
+ * its professor and the weights of the rooms it could use, which
+ * {@link VariableOrdering#DOM_WDEG} divides its domain size by. Before any
+ * failure that ordering is therefore plain smallest-domain-first.
+ *
+ * <p>Counts are atomic, so searches on several threads may share one instance.
+ * Indices are those of a {@link SearchModel}; every model built from the same
+ * courses, professors and rooms numbers them the same way.
+ */
+final class ConflictWeights {
+
+    private final AtomicIntegerArray courseFailures;
+    private final AtomicIntegerArray professorWeights;
+    private final AtomicIntegerArray roomWeights;
+
+    ConflictWeights(int courseCount, int professorCount, int roomCount) {
+        this.courseFailures = new AtomicIntegerArray(courseCount);
+        this.professorWeights = new AtomicIntegerArray(professorCount);
+        this.roomWeights = new AtomicIntegerArray(roomCount);
+    }
+
+    ConflictWeights(SearchModel model) {
+        this(model.courseCount(), model.professorCount(), model.roomCount());
+    }
+
+    void courseFailed(int course) {
+        courseFailures.incrementAndGet(course);
+    }
+
+    void professorFailed(int professor) {
+        professorWeights.incrementAndGet(professor);
+    }
+
+    void roomFailed(int room) {
+        roomWeights.incrementAndGet(room);
+    }
+
+    /**
+     * Returns the current failure count of every course.
+     */
+    int[] courseFailures() {
+        int[] failures = new int[courseFailures.length()];
+        for (int c = 0; c < failures.length; c++) {
+            failures[c] = courseFailures.get(c);
+        }
+        return failures;
+    }
+
+    /**
+     * Returns the current weighted degree of the first {@code count} courses of
+     * {@code order}, indexed by course; other courses get 0.
+     */
+    int[] weightedDegrees(SearchModel model, int[] order, int count) {
+        int[] weightedDegrees = new int[model.courseCount()];
+        for (int i = 0; i < count; i++) {
+            int course = order[i];
+            int weight = 1 + professorWeights.get(model.professorIndex(course));
+            long[] rooms = model.compatibleRooms(course);
+            for (int r = BitSets.nextSetBit(rooms, 0); r >= 0; r = BitSets.nextSetBit(rooms, r + 1)) {
+                weight += roomWeights.get(r);
+            }
+            weightedDegrees[course] = weight;
+        }
+        return weightedDegrees;
+    }
+}
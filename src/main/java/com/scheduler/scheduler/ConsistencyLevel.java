@@ -0,0 +1,26 @@
+package com.scheduler.scheduler;
+
+/**
+ * How much constraint propagation the search performs after each assignment.
+ */
+public enum ConsistencyLevel {
+    /**
+     * Generate-and-test: each room and slot-run is validated only when tried.
+     */
+    NONE,
+
+    /**
+     * Every assignment prunes conflicting (room, start-slot) values from the
+     * live domains of unassigned courses, and the search backtracks as soon
+     * as any domain becomes empty.
+     */
+    FORWARD_CHECKING,
+
+    /**
+     * Forward checking followed by arc consistency: values that leave a
+     * course of the same professor, or a course confined to their room, no
+     * compatible start are removed as well, repeatedly until no domain
+     * changes. Dead ends show up before the courses involved are reached.
+     */
+    ARC_CONSISTENCY
+}
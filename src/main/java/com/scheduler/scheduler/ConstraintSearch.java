@@ -0,0 +1,465 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Complete depth-first search over the live course domains of a {@link SearchModel}.
+ * Unlike the generate-and-test loop, a course that runs out of values sends the
+ * search back to an earlier decision instead of being skipped. If no complete
+ * schedule is found within the budget, the deepest partial schedule is kept.
+ *
+ * <p>The search runs on an explicit stack with one frame per placed course, so
+ * its Java stack depth does not grow with the problem size. Each frame picks its
+ * course either from the static difficulty order or, with
+ * {@link VariableOrdering#MRV_DEGREE} or {@link VariableOrdering#DOM_WDEG},
+ * from a {@link CourseHeap}. With
+ * {@link BacktrackStrategy#CONFLICT_DIRECTED} a dead end jumps back to the
+ * deepest decision in its {@link ConflictSets} instead of the previous one.
+ * Each assignment is propagated by a {@link ForwardChecker} and, with
+ * {@link ConsistencyLevel#ARC_CONSISTENCY}, by an {@link ArcConsistency} after it.
+ * With {@link SchedulerConfig#isSymmetryBreaking()} a course skips an empty
+ * room while an interchangeable empty room is searched instead; this keeps
+ * the search complete, and backjumping sound, since no earlier decision tells
+ * the two rooms apart.
+ *
+ * <p>A professor with more courses than their maximum load may have the excess
+ * left out. Leaving a course out is its last value: it takes a frame without an
+ * assignment and is reported as unscheduled. Once the load is reached the
+ * professor's remaining courses are left out without trying their values, and a
+ * wiped-out domain is only a dead end while no more courses of its professor may
+ * be left out. Every complete leaf thus places as many of each professor's
+ * courses as their load allows.
+ *
+ * <p>With a positive {@link SchedulerConfig#getSplitDepth()} the top of the tree
+ * is searched by {@link ParallelSubtreeSearch}, which runs this search on each
+ * subtree. The search keeps no mutable state of its own, so several threads may
+ * run {@link #search} at once; what it learns goes to a thread-safe
+ * {@link ConflictWeights}.
+ */
+final class ConstraintSearch {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConstraintSearch.class);
+
+    private final SearchModel model;
+    private final SchedulerConfig config;
+    private final ConstraintValidator validator;
+    private final ForwardChecker forwardChecker;
+    private final SearchBudget budget;
+    private final int[] degrees;
+    private final ConflictWeights weights;
+
+    ConstraintSearch(
+        SearchModel model,
+        SchedulerConfig config,
+        ConstraintValidator validator,
+        SearchBudget budget
+    ) {
+        this(model, config, validator, budget, null);
+    }
+
+    /**
+     * @param weights records every failure of the search; the counts at the
+     *                start of each search break dynamic ordering ties and,
+     *                with {@link VariableOrdering#DOM_WDEG}, weight the
+     *                domain sizes. May be null
+     */
+    ConstraintSearch(
+        SearchModel model,
+        SchedulerConfig config,
+        ConstraintValidator validator,
+        SearchBudget budget,
+        ConflictWeights weights
+    ) {
+        this.model = model;
+        this.config = config;
+        this.validator = validator;
+        this.forwardChecker = new ForwardChecker(model);
+        this.budget = budget;
+        this.degrees = config.getVariableOrdering() != VariableOrdering.STATIC ? model.degrees() : null;
+        this.weights = config.getVariableOrdering() == VariableOrdering.DOM_WDEG && weights == null
+            ? new ConflictWeights(model)
+            : weights;
+    }
+
+    /**
+     * Searches for a complete schedule, leaving the best one found in {@code schedule}.
+     *
+     * @return true if every course with at least one candidate was placed or
+     *         left out because its professor reached their maximum load
+     */
+    boolean solve(Schedule schedule, List<String> unscheduledCourses, List<String> messages) {
+        int courseCount = model.courseCount();
+        boolean[] unassigned = new boolean[courseCount];
+        int[] order = new int[courseCount];
+        int searchable = prepare(unassigned, order, unscheduledCourses, messages);
+
+        Outcome outcome;
+        if (config.getSplitDepth() > 0) {
+            outcome = new ParallelSubtreeSearch(this, model, config, validator, budget)
+                .run(unassigned, order, searchable);
+        } else {
+            outcome = search(schedule, new CourseDomains(model), unassigned, order, searchable);
+        }
+        return report(outcome, order, searchable, schedule, unscheduledCourses, messages);
+    }
+
+    /**
+     * Reports the courses that cannot be searched and flags the others as
+     * unassigned, listing them in {@code order} in the model's course order.
+     *
+     * @return the number of courses to search
+     */
+    int prepare(boolean[] unassigned, int[] order, List<String> unscheduledCourses, List<String> messages) {
+        int searchable = 0;
+        for (int c = 0; c < model.courseCount(); c++) {
+            String courseId = model.course(c).getId();
+            if (model.professor(c) == null) {
+                messages.add("Professor not found for course " + courseId);
+                unscheduledCourses.add(courseId);
+            } else if (model.candidateCount(c) == 0) {
+                logger.warn("Could not schedule course: {}", courseId);
+                unscheduledCourses.add(courseId);
+                messages.add("Failed to schedule course " + courseId +
+                    " - no valid room/time combination found");
+            } else {
+                unassigned[c] = true;
+                order[searchable++] = c;
+            }
+        }
+        return searchable;
+    }
+
+    /**
+     * Copies the outcome of searching the first {@code searchable} courses of
+     * {@code order} into {@code schedule} and reports the courses it left out.
+     *
+     * @return true if the outcome is complete and places every searched course
+     *         its professor's load allows
+     */
+    boolean report(
+        Outcome outcome,
+        int[] order,
+        int searchable,
+        Schedule schedule,
+        List<String> unscheduledCourses,
+        List<String> messages
+    ) {
+        if (outcome.stopMessage != null) {
+            messages.add(outcome.stopMessage);
+        } else if (!outcome.complete) {
+            messages.add("No complete schedule exists for the " + searchable +
+                " schedulable courses; keeping the best partial schedule");
+        }
+
+        // Subtree searches work on their own copies, and a stopped search may
+        // hold a different assignment than its best one
+        if (!schedule.getAssignments().equals(outcome.assignments)) {
+            schedule.restore(0);
+            for (CourseAssignment assignment : outcome.assignments) {
+                schedule.addAssignment(assignment);
+            }
+        }
+        if (outcome.complete && outcome.assignments.size() == searchable) {
+            return true;
+        }
+
+        Set<String> placedCourses = new HashSet<>();
+        for (CourseAssignment assignment : outcome.assignments) {
+            placedCourses.add(assignment.getCourse().getId());
+        }
+        for (int i = 0; i < searchable; i++) {
+            String courseId = model.course(order[i]).getId();
+            if (!placedCourses.contains(courseId)) {
+                logger.warn("Could not schedule course: {}", courseId);
+                unscheduledCourses.add(courseId);
+                if (outcome.complete) {
+                    messages.add(model.maxLoadMessage(order[i]));
+                }
+            }
+        }
+        return outcome.complete;
+    }
+
+    /**
+     * Searches for values of the first {@code count} courses of {@code order},
+     * starting from a state in which the courses already in {@code schedule}
+     * are fixed and {@code domains} have been pruned for them.
+     *
+     * @return the complete schedule, or the largest partial one found
+     */
+    Outcome search(Schedule schedule, CourseDomains domains, boolean[] unassigned, int[] order, int count) {
+        CourseHeap heap = heap(domains, order, count);
+        if (heap != null) {
+            domains.setListener(heap);
+        }
+
+        ConflictSets conflicts = null;
+        if (config.getBacktrackStrategy() == BacktrackStrategy.CONFLICT_DIRECTED) {
+            conflicts = new ConflictSets(model, count, config.getNogoodCapacity());
+        }
+        ArcConsistency arcConsistency = config.getConsistencyLevel() == ConsistencyLevel.ARC_CONSISTENCY
+            ? new ArcConsistency(model)
+            : null;
+
+        int[] dropsLeft = model.dropAllowances(order, count, schedule);
+        int[] frameCourse = new int[count];
+        int[] frameCursor = new int[count];
+        int[] frameMark = new int[count];
+        int[] frameScheduleMark = new int[count];
+        CourseAssignment[] frameAssignment = new CourseAssignment[count];
+        List<CourseAssignment> best = new ArrayList<>(schedule.getAssignments());
+        String stopMessage = null;
+
+        int depth = 0;
+        boolean resume = false;
+        boolean complete = false;
+        // Arc consistency may rule out every schedule before the first decision
+        boolean exhausted = arcConsistency != null
+            && arcConsistency.establish(order, count, domains, unassigned, schedule, dropsLeft) >= 0;
+
+        search:
+        while (!exhausted) {
+            if (depth == count) {
+                complete = true;
+                break;
+            }
+
+            int course;
+            if (!resume) {
+                course = heap == null ? order[depth] : heap.poll();
+                frameCourse[depth] = course;
+                frameCursor[depth] = 0;
+                frameMark[depth] = domains.mark();
+                frameScheduleMark[depth] = schedule.mark();
+                frameAssignment[depth] = null;
+                if (conflicts != null) {
+                    conflicts.open(depth, course);
+                }
+            } else {
+                course = frameCourse[depth];
+                undo(depth, course, frameAssignment[depth] == null, frameMark[depth], frameScheduleMark[depth],
+                    schedule, domains, unassigned, dropsLeft, conflicts);
+            }
+
+            boolean placed = false;
+            // A course left out has already tried all its values
+            boolean wasDropped = resume && frameAssignment[depth] == null;
+            int first = wasDropped || model.atMaxLoad(course, schedule)
+                ? -1 : domains.nextInOrder(course, frameCursor[depth]);
+            int room = -1;
+            boolean twin = false;
+            for (int p = first; p >= 0; p = domains.nextInOrder(course, p + 1)) {
+                int v = domains.valueAt(course, p);
+                if (config.isSymmetryBreaking() && model.roomIndex(course, v) != room) {
+                    room = model.roomIndex(course, v);
+                    twin = model.hasEmptyTwinBefore(course, room, schedule);
+                }
+                if (twin) {
+                    // Searched as the values of the empty twin room
+                    frameCursor[depth] = p + 1;
+                    continue;
+                }
+                stopMessage = budget.exhausted();
+                if (stopMessage != null) {
+                    break search;
+                }
+                budget.countNode();
+                frameCursor[depth] = p + 1;
+
+                if (conflicts != null && conflicts.violatesNogood(depth, course, v)) {
+                    continue;
+                }
+                if (!validator.isFeasibleOnSchedule(model.course(course), model.room(course, v), model.run(course, v),
+                        model.professor(course), schedule)) {
+                    if (conflicts != null) {
+                        // Only backjumping needs to know which constraints failed
+                        conflicts.rejected(depth, course, v, validator.validateMultiSlot(model.course(course),
+                            model.room(course, v), model.run(course, v), model.professor(course), schedule));
+                    }
+                    continue;
+                }
+                CourseAssignment assignment = model.toAssignment(course, v);
+                schedule.addAssignment(assignment);
+                unassigned[course] = false;
+                // The placement itself is legal even if it wipes out a later domain
+                if (schedule.getScheduledCoursesCount() > best.size()) {
+                    best = new ArrayList<>(schedule.getAssignments());
+                }
+                int wipedOut = forwardChecker.prune(course, v, domains, unassigned, schedule, dropsLeft);
+                if (wipedOut < 0 && arcConsistency != null) {
+                    wipedOut = arcConsistency.propagate(domains, frameMark[depth], unassigned, schedule, dropsLeft,
+                        conflicts, depth);
+                }
+                if (wipedOut < 0) {
+                    frameAssignment[depth] = assignment;
+                    if (conflicts != null) {
+                        conflicts.assign(depth, course, v);
+                        conflicts.recordPruning(depth, domains, frameMark[depth]);
+                    }
+                    placed = true;
+                    break;
+                }
+                if (conflicts != null) {
+                    conflicts.wipedOut(depth, wipedOut);
+                    conflicts.undoPropagation(depth);
+                }
+                if (weights != null) {
+                    blame(course, v, wipedOut, heap);
+                }
+                schedule.restore(frameScheduleMark[depth]);
+                domains.restore(frameMark[depth]);
+                unassigned[course] = true;
+            }
+
+            int professor = model.professorIndex(course);
+            if (!placed && !wasDropped && dropsLeft[professor] > 0) {
+                dropsLeft[professor]--;
+                unassigned[course] = false;
+                frameAssignment[depth] = null;
+                if (conflicts != null) {
+                    conflicts.drop(depth, course);
+                }
+                placed = true;
+            }
+            if (placed) {
+                depth++;
+                resume = false;
+                continue;
+            }
+
+            if (conflicts != null && !wasDropped) {
+                conflicts.noDropsLeft(depth, professor);
+            }
+            if (weights != null && !wasDropped) {
+                weights.courseFailed(course);
+            }
+            if (heap != null) {
+                heap.insert(course);
+            }
+            int target = conflicts == null ? depth - 1 : conflicts.backjump(depth);
+            // Frames strictly between the target and the dead end are undone without retrying them
+            for (int d = depth - 1; d > target; d--) {
+                undo(d, frameCourse[d], frameAssignment[d] == null, frameMark[d], frameScheduleMark[d],
+                    schedule, domains, unassigned, dropsLeft, conflicts);
+                if (heap != null) {
+                    heap.insert(frameCourse[d]);
+                }
+            }
+            depth = target;
+            resume = true;
+            if (depth < 0) {
+                break;
+            }
+        }
+
+        domains.setListener(null);
+        if (complete) {
+            return new Outcome(true, new ArrayList<>(schedule.getAssignments()), null);
+        }
+        return new Outcome(false, best, stopMessage);
+    }
+
+    /**
+     * Takes back the assignment of the frame at {@code depth}, or the leaving
+     * out of its course if {@code dropped}.
+     */
+    private void undo(
+        int depth,
+        int course,
+        boolean dropped,
+        int mark,
+        int scheduleMark,
+        Schedule schedule,
+        CourseDomains domains,
+        boolean[] unassigned,
+        int[] dropsLeft,
+        ConflictSets conflicts
+    ) {
+        schedule.restore(scheduleMark);
+        if (dropped) {
+            dropsLeft[model.professorIndex(course)]++;
+        }
+        if (conflicts != null) {
+            conflicts.undoPruning(depth, domains, mark);
+            conflicts.undoPropagation(depth);
+            conflicts.unassign(course);
+        }
+        domains.restore(mark);
+        unassigned[course] = true;
+    }
+
+    /**
+     * Counts a wipe-out of {@code wipedOut} caused by assigning {@code candidate}
+     * to {@code course} against the constraint that caused it: their shared
+     * professor, or otherwise the room of the assignment.
+     */
+    private void blame(int course, int candidate, int wipedOut, CourseHeap heap) {
+        weights.courseFailed(wipedOut);
+        int professor = model.professorIndex(course);
+        int[] constrained;
+        if (model.professorIndex(wipedOut) == professor) {
+            weights.professorFailed(professor);
+            constrained = model.coursesOfProfessor(professor);
+        } else {
+            int room = model.roomIndex(course, candidate);
+            weights.roomFailed(room);
+            constrained = model.coursesInRoom(room);
+        }
+        if (heap != null) {
+            for (int other : constrained) {
+                heap.addWeight(other);
+            }
+        }
+    }
+
+    /**
+     * Returns a heap holding the first {@code count} courses of {@code order}
+     * for dynamic ordering, or null with static ordering.
+     */
+    CourseHeap heap(CourseDomains domains, int[] order, int count) {
+        if (degrees == null) {
+            return null;
+        }
+        int[] failures = weights == null ? null : weights.courseFailures();
+        int[] weightedDegrees = config.getVariableOrdering() == VariableOrdering.DOM_WDEG
+            ? weights.weightedDegrees(model, order, count)
+            : null;
+        CourseHeap heap = new CourseHeap(domains, degrees, failures, weightedDegrees);
+        for (int i = 0; i < count; i++) {
+            heap.insert(order[i]);
+        }
+        return heap;
+    }
+
+    ForwardChecker forwardChecker() {
+        return forwardChecker;
+    }
+
+    long getNodesExplored() {
+        return budget.nodes();
+    }
+
+    /**
+     * Result of searching a tree or subtree.
+     */
+    static final class Outcome {
+        final boolean complete;
+        final List<CourseAssignment> assignments;
+        // Why the budget stopped the search, or null if the tree was searched to the end
+        final String stopMessage;
+
+        Outcome(boolean complete, List<CourseAssignment> assignments, String stopMessage) {
+            this.complete = complete;
+            this.assignments = assignments;
+            this.stopMessage = stopMessage;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.util.BitSets;
+
+import java.util.Arrays;
+
+/**
+ * Live domains of candidate indices, one bitset per course, with the number of
+ * live values per start ordinal.
+ * Every removal is recorded on a trail, so the domains can be restored to a
+ * saved mark in time proportional to the number of values removed since.
+ *
+ * <p>Values are tried in candidate-table order unless the domains were given
+ * another order, indexed by position; {@link #nextInOrder} and
+ * {@link #valueAt} walk that order.
+ */
+final class CourseDomains {
+
+    /**
+     * Notified whenever the size of a course's domain changes.
+     */
+    interface Listener {
+        void domainChanged(int course);
+    }
+
+    private final SearchModel model;
+    private final long[][] live;
+    private final int[] sizes;
+    private final int[][] liveAtStart;
+    private final int[][] order;
+    private int[] trailCourses;
+    private int[] trailValues;
+    private int trailSize;
+    private Listener listener;
+
+    CourseDomains(SearchModel model) {
+        this(model, null);
+    }
+
+    /**
+     * @param order the values of each course in trial order, or null for table order
+     */
+    CourseDomains(SearchModel model, int[][] order) {
+        int courseCount = model.courseCount();
+        this.model = model;
+        this.live = new long[courseCount][];
+        this.sizes = new int[courseCount];
+        this.liveAtStart = new int[courseCount][];
+        this.order = order;
+        for (int c = 0; c < courseCount; c++) {
+            int candidates = model.candidateCount(c);
+            live[c] = BitSets.create(candidates);
+            liveAtStart[c] = new int[model.slotUniverse().size()];
+            for (int v = 0; v < candidates; v++) {
+                BitSets.set(live[c], v);
+                liveAtStart[c][model.startOrdinal(c, v)]++;
+            }
+            sizes[c] = candidates;
+        }
+        this.trailCourses = new int[64];
+        this.trailValues = new int[64];
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    int size(int course) {
+        return sizes[course];
+    }
+
+    boolean contains(int course, int value) {
+        return BitSets.get(live[course], value);
+    }
+
+    /**
+     * Returns the number of live values whose slot-run begins at {@code start}.
+     */
+    int liveAt(int course, int start) {
+        return liveAtStart[course][start];
+    }
+
+    /**
+     * Returns the first live value at or after {@code from}, or -1.
+     */
+    int next(int course, int from) {
+        return BitSets.nextSetBit(live[course], from);
+    }
+
+    /**
+     * Returns the first position at or after {@code from} in trial order whose
+     * value is live, or -1.
+     */
+    int nextInOrder(int course, int from) {
+        if (order == null) {
+            return next(course, from);
+        }
+        int[] values = order[course];
+        for (int position = from; position < values.length; position++) {
+            if (BitSets.get(live[course], values[position])) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value at a position of the trial order.
+     */
+    int valueAt(int course, int position) {
+        return order == null ? position : order[course][position];
+    }
+
+    /**
+     * Removes a value, returning false if it was already gone.
+     */
+    boolean remove(int course, int value) {
+        if (!BitSets.get(live[course], value)) {
+            return false;
+        }
+        BitSets.clear(live[course], value);
+        sizes[course]--;
+        liveAtStart[course][model.startOrdinal(course, value)]--;
+        if (trailSize == trailCourses.length) {
+            trailCourses = Arrays.copyOf(trailCourses, trailSize * 2);
+            trailValues = Arrays.copyOf(trailValues, trailSize * 2);
+        }
+        trailCourses[trailSize] = course;
+        trailValues[trailSize] = value;
+        trailSize++;
+        if (listener != null) {
+            listener.domainChanged(course);
+        }
+        return true;
+    }
+
+    int mark() {
+        return trailSize;
+    }
+
+    /**
+     * Returns the course of the trail entry at {@code position}, which must lie
+     * below the current mark.
+     */
+    int trailCourse(int position) {
+        return trailCourses[position];
+    }
+
+    /**
+     * Returns the value of the trail entry at {@code position}, which must lie
+     * below the current mark.
+     */
+    int trailValue(int position) {
+        return trailValues[position];
+    }
+
+    /**
+     * Restores every value removed since the given mark.
+     */
+    void restore(int mark) {
+        while (trailSize > mark) {
+            trailSize--;
+            int course = trailCourses[trailSize];
+            int value = trailValues[trailSize];
+            BitSets.set(live[course], value);
+            sizes[course]++;
+            liveAtStart[course][model.startOrdinal(course, value)]++;
+            if (listener != null) {
+                listener.domainChanged(course);
+            }
+        }
+    }
+}
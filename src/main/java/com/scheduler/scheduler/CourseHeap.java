@@ -0,0 +1,155 @@
+package com.scheduler.scheduler;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap of unassigned courses for dynamic variable ordering.
+ * Courses are ordered by live domain size, or by domain size over weighted
+ * degree if weighted degrees are given, then by descending failure count if
+ * failures are given, then by descending degree, then by their static
+ * difficulty rank. Keys are updated in O(log n) as domains shrink
+ * and grow, so selecting the next course never rescans all courses.
+ */
+final class CourseHeap implements CourseDomains.Listener {
+
+    private final CourseDomains domains;
+    private final int[] degrees;
+    private final int[] failures;
+    private final int[] weightedDegrees;
+    private final int[] heap;
+    private final int[] positions;
+    private int size;
+
+    CourseHeap(CourseDomains domains, int[] degrees) {
+        this(domains, degrees, null, null);
+    }
+
+    /**
+     * @param failures per course, a tie-breaker ahead of the degree, e.g. learned
+     *                 failure counts; must not change while the heap is in use.
+     *                 May be null
+     * @param weightedDegrees per course, the positive divisor of its domain
+     *                        size; changed only through {@link #addWeight}.
+     *                        May be null
+     */
+    CourseHeap(CourseDomains domains, int[] degrees, int[] failures, int[] weightedDegrees) {
+        this.domains = domains;
+        this.degrees = degrees;
+        this.failures = failures;
+        this.weightedDegrees = weightedDegrees;
+        this.heap = new int[degrees.length];
+        this.positions = new int[degrees.length];
+        Arrays.fill(positions, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int course) {
+        return positions[course] >= 0;
+    }
+
+    void insert(int course) {
+        if (contains(course)) {
+            return;
+        }
+        heap[size] = course;
+        positions[course] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Removes and returns the most constrained course.
+     */
+    int poll() {
+        int first = heap[0];
+        size--;
+        positions[first] = -1;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return first;
+    }
+
+    @Override
+    public void domainChanged(int course) {
+        int position = positions[course];
+        if (position < 0) {
+            return;
+        }
+        siftUp(position);
+        siftDown(positions[course]);
+    }
+
+    /**
+     * Adds one to the weighted degree of {@code course}, if the heap has them.
+     */
+    void addWeight(int course) {
+        if (weightedDegrees != null) {
+            weightedDegrees[course]++;
+            domainChanged(course);
+        }
+    }
+
+    private boolean before(int a, int b) {
+        int sizeA = domains.size(a);
+        int sizeB = domains.size(b);
+        if (weightedDegrees != null) {
+            // sizeA / wdegA < sizeB / wdegB without division
+            long ratioA = (long) sizeA * weightedDegrees[b];
+            long ratioB = (long) sizeB * weightedDegrees[a];
+            if (ratioA != ratioB) {
+                return ratioA < ratioB;
+            }
+        } else if (sizeA != sizeB) {
+            return sizeA < sizeB;
+        }
+        if (failures != null && failures[a] != failures[b]) {
+            return failures[a] > failures[b];
+        }
+        if (degrees[a] != degrees[b]) {
+            return degrees[a] > degrees[b];
+        }
+        // Course indices follow the static difficulty order
+        return a < b;
+    }
+
+    private void siftUp(int position) {
+        int course = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(course, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = course;
+        positions[course] = position;
+    }
+
+    private void siftDown(int position) {
+        int course = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && before(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!before(heap[child], course)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = course;
+        positions[course] = position;
+    }
+}
@@ -0,0 +1,181 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.domain.Course;
+import com.scheduler.domain.Professor;
+import com.scheduler.util.BipartiteMatching;
+import com.scheduler.util.BitSets;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Proves some instances infeasible before search by bipartite matching.
+ *
+ * <p>A course of duration {@code d} needs {@code d} distinct room-slots (a room
+ * at one slot) among those its candidates cover, and {@code d} distinct slots
+ * of its professor's time. No two courses can share a room-slot or, with the
+ * same professor, a slot, so if a maximum matching of course slots to
+ * room-slots or professor slots leaves any course slot unmatched, no schedule
+ * places all the courses. The matching ignores that a course's slots must be
+ * consecutive and in one room, so passing the check does not prove an
+ * instance feasible.
+ *
+ * <p>Only courses that must all be placed for the search to succeed are
+ * counted: those with a professor and at least one candidate, whose professor
+ * has no more courses than their maximum load. The check runs per professor,
+ * then per set of required room features, then over all such courses, and
+ * reports the first bottleneck found: a set of courses that need more slots
+ * than they can use between them, by Hall's theorem.
+ */
+final class FeasibilityAnalyzer {
+
+    private static final int LISTED_COURSES = 5;
+
+    private final SearchModel model;
+    private final int slotCount;
+    private final List<Integer> required = new ArrayList<>();
+    private final int[][] roomSlots;
+    private final int[][] slots;
+
+    FeasibilityAnalyzer(SearchModel model) {
+        this.model = model;
+        this.slotCount = model.slotUniverse().size();
+        this.roomSlots = new int[model.courseCount()][];
+        this.slots = new int[model.courseCount()][];
+        for (int c = 0; c < model.courseCount(); c++) {
+            Professor professor = model.professor(c);
+            if (professor != null && model.candidateCount(c) > 0
+                    && model.coursesOfProfessor(model.professorIndex(c)).length <= professor.getMaxLoad()) {
+                required.add(c);
+            }
+        }
+    }
+
+    /**
+     * Returns a description of the first bottleneck found, or null if the
+     * matchings find none.
+     */
+    String findBottleneck() {
+        Map<Integer, List<Integer>> byProfessor = new LinkedHashMap<>();
+        for (int course : required) {
+            byProfessor.computeIfAbsent(model.professorIndex(course), p -> new ArrayList<>()).add(course);
+        }
+        for (List<Integer> courses : byProfessor.values()) {
+            String bottleneck = check(courses, false,
+                "professor " + model.professor(courses.get(0)).getId() + " cannot teach");
+            if (bottleneck != null) {
+                return bottleneck;
+            }
+        }
+
+        Set<Set<String>> featureClasses = new LinkedHashSet<>();
+        for (int course : required) {
+            Course c = model.course(course);
+            if (!c.getRequiredFeatures().isEmpty()) {
+                featureClasses.add(new TreeSet<>(c.getRequiredFeatures()));
+            }
+        }
+        for (Set<String> featureClass : featureClasses) {
+            List<Integer> courses = new ArrayList<>();
+            for (int course : required) {
+                if (model.course(course).getRequiredFeatures().containsAll(featureClass)) {
+                    courses.add(course);
+                }
+            }
+            String bottleneck = check(courses, true, "rooms with " + featureClass + " cannot hold");
+            if (bottleneck != null) {
+                return bottleneck;
+            }
+        }
+
+        return check(required, true, "the rooms cannot hold");
+    }
+
+    /**
+     * Matches the slots of {@code courses} to room-slots, or to slots of their
+     * shared professor, and describes a deficient set if some are left over.
+     */
+    private String check(List<Integer> courses, boolean inRooms, String subject) {
+        List<int[]> adjacency = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        for (int course : courses) {
+            int[] resources = inRooms ? roomSlots(course) : slots(course);
+            for (int copy = 0; copy < model.course(course).getDuration(); copy++) {
+                adjacency.add(resources);
+                owners.add(course);
+            }
+        }
+        int rightCount = inRooms ? model.roomCount() * slotCount : slotCount;
+        BipartiteMatching matching = BipartiteMatching.maximum(adjacency.toArray(new int[0][]), rightCount);
+        if (matching.size() == adjacency.size()) {
+            return null;
+        }
+
+        boolean[] deficient = matching.deficientSet();
+        Set<Integer> culprits = new LinkedHashSet<>();
+        Set<Integer> usable = new LinkedHashSet<>();
+        int needed = 0;
+        for (int left = 0; left < deficient.length; left++) {
+            if (deficient[left]) {
+                culprits.add(owners.get(left));
+                needed++;
+                for (int right : adjacency.get(left)) {
+                    usable.add(right);
+                }
+            }
+        }
+        String unit = inRooms ? "room-slots" : "slots";
+        return "Infeasible: " + subject + " " + describe(culprits) + ", which need " + needed + " " + unit +
+            " but can only use " + usable.size();
+    }
+
+    private String describe(Set<Integer> courses) {
+        String listed = courses.stream()
+            .limit(LISTED_COURSES)
+            .map(course -> model.course(course).getId())
+            .collect(Collectors.joining(", "));
+        int more = courses.size() - LISTED_COURSES;
+        return more > 0 ? listed + " and " + more + " more" : listed;
+    }
+
+    /**
+     * Returns the room-slots, numbered {@code room * slotCount + slot}, that
+     * candidates of {@code course} occupy.
+     */
+    private int[] roomSlots(int course) {
+        if (roomSlots[course] == null) {
+            long[] covered = BitSets.create(model.roomCount() * slotCount);
+            for (int v = 0; v < model.candidateCount(course); v++) {
+                int offset = model.roomIndex(course, v) * slotCount;
+                long[] run = model.runSlots(course, v);
+                for (int s = BitSets.nextSetBit(run, 0); s >= 0; s = BitSets.nextSetBit(run, s + 1)) {
+                    BitSets.set(covered, offset + s);
+                }
+            }
+            roomSlots[course] = members(covered);
+        }
+        return roomSlots[course];
+    }
+
+    private int[] slots(int course) {
+        if (slots[course] == null) {
+            slots[course] = members(model.compatibleSlots(course));
+        }
+        return slots[course];
+    }
+
+    private static int[] members(long[] words) {
+        int[] members = new int[BitSets.cardinality(words)];
+        int i = 0;
+        for (int bit = BitSets.nextSetBit(words, 0); bit >= 0; bit = BitSets.nextSetBit(words, bit + 1)) {
+            members[i++] = bit;
+        }
+        return members;
+    }
+}
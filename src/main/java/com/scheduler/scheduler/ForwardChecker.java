@@ -0,0 +1,83 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.domain.Schedule;
+import com.scheduler.util.BitSets;
+
+/**
+ * Prunes the live domains of unassigned courses after an assignment:
+ * values that would put another course in the same room, or with the same
+ * professor, at an overlapping time are removed.
+ *
+ * <p>Courses whose professor has reached their maximum load are left alone:
+ * the search leaves them out when it reaches them, so their domains no longer
+ * matter. For the same reason an emptied domain only counts as a wipe-out while
+ * no more of its professor's courses may be left out.
+ */
+final class ForwardChecker {
+
+    private static final int[] NO_COURSES = new int[0];
+
+    private final SearchModel model;
+
+    ForwardChecker(SearchModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Applies the consequences of assigning {@code candidate} to {@code course},
+     * which must already be in {@code schedule}.
+     *
+     * @param unassigned flags of the courses whose domains are still live
+     * @param dropsLeft per professor, how many more courses may be left out
+     * @return the first unassigned course left with an empty domain that may
+     *         not be left out, or -1 if there is none
+     */
+    int prune(
+        int course,
+        int candidate,
+        CourseDomains domains,
+        boolean[] unassigned,
+        Schedule schedule,
+        int[] dropsLeft
+    ) {
+        long[] footprint = model.runFootprint(course, candidate);
+
+        int professor = model.professorIndex(course);
+        int[] sameProfessor = model.atMaxLoad(course, schedule) ? NO_COURSES : model.coursesOfProfessor(professor);
+        for (int other : sameProfessor) {
+            // Skip courses none of whose candidates touch the footprint
+            if (!unassigned[other] || !BitSets.intersects(footprint, model.compatibleSlots(other))) {
+                continue;
+            }
+            for (int v = domains.next(other, 0); v >= 0; v = domains.next(other, v + 1)) {
+                if (BitSets.intersects(footprint, model.runSlots(other, v))) {
+                    domains.remove(other, v);
+                }
+            }
+            if (domains.size(other) == 0 && dropsLeft[professor] == 0) {
+                return other;
+            }
+        }
+
+        int room = model.roomIndex(course, candidate);
+        int[] roomCourses = model.coursesInRoom(room);
+        int[] from = model.roomRangeFrom(room);
+        int[] to = model.roomRangeTo(room);
+        for (int i = 0; i < roomCourses.length; i++) {
+            int other = roomCourses[i];
+            if (!unassigned[other] || !BitSets.intersects(footprint, model.compatibleSlots(other))
+                    || model.atMaxLoad(other, schedule)) {
+                continue;
+            }
+            for (int v = domains.next(other, from[i]); v >= 0 && v < to[i]; v = domains.next(other, v + 1)) {
+                if (BitSets.intersects(footprint, model.runSlots(other, v))) {
+                    domains.remove(other, v);
+                }
+            }
+            if (domains.size(other) == 0 && dropsLeft[model.professorIndex(other)] == 0) {
+                return other;
+            }
+        }
+        return -1;
+    }
+}
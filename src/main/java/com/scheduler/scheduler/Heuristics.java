@@ -2,10 +2,14 @@ package com.scheduler.scheduler;
 
 import com.scheduler.domain.Course;
 import com.scheduler.domain.Room;
+import com.scheduler.domain.RoomIndex;
 import com.scheduler.domain.TimeSlot;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 /**
@@ -18,11 +22,13 @@ public class Heuristics {
      * Considers: enrollment size, duration, number of required features.
      */
     public static List<Course> orderCoursesByDifficulty(List<Course> courses) {
+        // A single reversed() at the end makes every key descending
         return courses.stream()
             .sorted(Comparator
-                .comparingInt(Course::getExpectedEnrollment).reversed()
-                .thenComparingInt(Course::getDuration).reversed()
-                .thenComparingInt((Course c) -> c.getRequiredFeatures().size()).reversed())
+                .comparingInt(Course::getExpectedEnrollment)
+                .thenComparingInt(Course::getDuration)
+                .thenComparingInt((Course c) -> c.getRequiredFeatures().size())
+                .reversed())
             .collect(Collectors.toList());
     }
 
@@ -33,13 +39,23 @@ public class Heuristics {
     public static List<Room> orderRoomsByFit(List<Room> rooms, Course course) {
         return rooms.stream()
             .filter(room -> room.canAccommodate(course.getExpectedEnrollment()))
-            .filter(room -> room.hasAllFeatures(course.getRequiredFeatures()))
+            .filter(room -> room.hasAllFeatures(course))
             .sorted(Comparator
                 .comparingInt((Room r) -> r.getCapacity() - course.getExpectedEnrollment())
                 .thenComparingInt((Room r) -> r.getFeatures().size()))
             .collect(Collectors.toList());
     }
 
+    /**
+     * Orders rooms by fit like {@link #orderRoomsByFit(List, Course)}, reading
+     * them from a prebuilt index instead of filtering and sorting the whole
+     * room list, and breaks ties between equally fitting rooms randomly. A null
+     * {@code random} keeps the deterministic order.
+     */
+    public static List<Room> orderRoomsByFit(RoomIndex rooms, Course course, Random random) {
+        return rooms.roomsFor(course, random);
+    }
+
     /**
      * Orders time slots, preferring earlier slots and preferred windows.
      */
@@ -51,6 +67,20 @@ public class Heuristics {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Orders time slots with preferred windows first, in random order within
+     * each group. A null {@code random} keeps the deterministic order.
+     */
+    public static List<TimeSlot> orderTimeSlots(List<TimeSlot> timeSlots, Course course, Random random) {
+        if (random == null) {
+            return orderTimeSlots(timeSlots, course);
+        }
+        List<TimeSlot> shuffled = new ArrayList<>(timeSlots);
+        Collections.shuffle(shuffled, random);
+        shuffled.sort(Comparator.comparing((TimeSlot ts) -> !course.getPreferredTimeWindows().contains(ts)));
+        return shuffled;
+    }
+
     /**
      * Calculates a difficulty score for a course.
      */
@@ -0,0 +1,44 @@
+package com.scheduler.scheduler;
+
+/**
+ * One point of the improvement curve of a {@link LocalSearchOptimizer} run:
+ * the soft constraint penalty of the best schedule found so far.
+ * Immutable value object.
+ */
+public final class ImprovementStep {
+    private final long elapsedMillis;
+    private final long iteration;
+    private final int penalty;
+
+    public ImprovementStep(long elapsedMillis, long iteration, int penalty) {
+        this.elapsedMillis = elapsedMillis;
+        this.iteration = iteration;
+        this.penalty = penalty;
+    }
+
+    /**
+     * Returns the time since the optimizer started.
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Returns the number of moves tried before this point.
+     */
+    public long getIteration() {
+        return iteration;
+    }
+
+    /**
+     * Returns the number of soft constraint violations.
+     */
+    public int getPenalty() {
+        return penalty;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Step{time=%dms, iteration=%d, penalty=%d}", elapsedMillis, iteration, penalty);
+    }
+}
@@ -0,0 +1,126 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs the generate-and-test search of {@link BacktrackingScheduler} on an explicit
+ * choice-point stack instead of the Java call stack.
+ *
+ * <p>Frame {@code i} belongs to the i-th course in difficulty order, so the stack
+ * depth is the course index, and holds the index of its next untried candidate
+ * in the {@link SearchModel}. The stack is preallocated once per solve, and each
+ * loop iteration either opens a frame or tests one candidate, so the loop keeps
+ * a constant Java stack depth and allocates only for accepted assignments.
+ *
+ * <p>As in the recursive search, a course without a valid value is recorded as
+ * unscheduled and skipped. When the budget runs out the loop stops where it is
+ * and keeps the assignments made so far.
+ */
+final class IterativeBacktracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(IterativeBacktracker.class);
+
+    private final SchedulerConfig config;
+    private final ConstraintValidator validator;
+    private final long startTime;
+    private final BooleanSupplier cancelled;
+    private int iterationCount;
+
+    IterativeBacktracker(
+        SchedulerConfig config,
+        ConstraintValidator validator,
+        long startTime,
+        BooleanSupplier cancelled
+    ) {
+        this.config = config;
+        this.validator = validator;
+        this.startTime = startTime;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Places the courses in order, recording those without a valid room and
+     * slot-run as unscheduled.
+     *
+     * @return false if the time or iteration budget ran out; the assignments made
+     *         so far are kept in {@code schedule}
+     */
+    boolean run(
+        SearchModel model,
+        Schedule schedule,
+        List<String> unscheduledCourses,
+        List<String> messages
+    ) {
+        int courseCount = model.courseCount();
+        int[] cursor = new int[courseCount];
+
+        int depth = 0;
+        boolean open = false;
+
+        while (true) {
+            if (!open) {
+                if (System.currentTimeMillis() - startTime > config.getTimeoutMillis()) {
+                    messages.add("Scheduling timed out after " + config.getTimeoutMillis() + " ms");
+                    return false;
+                }
+                if (++iterationCount > config.getMaxIterations()) {
+                    messages.add("Reached maximum iterations: " + config.getMaxIterations());
+                    return false;
+                }
+                if (cancelled.getAsBoolean()) {
+                    messages.add("Search cancelled");
+                    return false;
+                }
+                if (depth >= courseCount) {
+                    return true;
+                }
+
+                if (model.professor(depth) == null) {
+                    String courseId = model.course(depth).getId();
+                    messages.add("Professor not found for course " + courseId);
+                    unscheduledCourses.add(courseId);
+                    depth++;
+                    continue;
+                }
+                if (model.atMaxLoad(depth, schedule)) {
+                    messages.add(model.maxLoadMessage(depth));
+                    unscheduledCourses.add(model.course(depth).getId());
+                    depth++;
+                    continue;
+                }
+                cursor[depth] = 0;
+                open = true;
+            }
+
+            if (cursor[depth] >= model.candidateCount(depth)) {
+                // Could not schedule this course; continue with the remaining ones
+                String courseId = model.course(depth).getId();
+                logger.warn("Could not schedule course: {}", courseId);
+                unscheduledCourses.add(courseId);
+                messages.add("Failed to schedule course " + courseId +
+                    " - no valid room/time combination found");
+                depth++;
+                open = false;
+                continue;
+            }
+
+            int candidate = cursor[depth]++;
+            if (validator.isFeasibleOnSchedule(model.course(depth), model.room(depth, candidate),
+                    model.run(depth, candidate), model.professor(depth), schedule)) {
+                schedule.addAssignment(model.toAssignment(depth, candidate));
+                depth++;
+                open = false;
+            }
+        }
+    }
+
+    int getIterationCount() {
+        return iterationCount;
+    }
+}
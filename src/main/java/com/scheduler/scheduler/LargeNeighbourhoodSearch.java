@@ -0,0 +1,199 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.CourseAssignment;
+import com.scheduler.domain.Schedule;
+import com.scheduler.util.BitSets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Repairs a partial schedule by large neighbourhood search.
+ *
+ * <p>Each round picks an unscheduled course whose professor can still teach
+ * more and takes back a random sample of the placed courses competing with it
+ * for the same professor, or for its rooms at times it could use, so that at
+ * most {@link #NEIGHBOURHOOD_SIZE} courses are free. It rebuilds them with a {@link ConstraintSearch} limited to
+ * {@link #SUB_SEARCH_NODES} nodes while every other placement stays fixed. The
+ * rebuilt neighbourhood replaces the old one unless it places fewer courses,
+ * so a round never loses ground but may move sideways to escape a plateau.
+ *
+ * <p>Rounds continue until no such course is left or the time budget runs out.
+ */
+final class LargeNeighbourhoodSearch {
+
+    static final int NEIGHBOURHOOD_SIZE = 10;
+    static final int SUB_SEARCH_NODES = 2000;
+
+    private final SearchModel model;
+    private final SchedulerConfig config;
+    private final ConstraintValidator validator;
+    private final BooleanSupplier cancelled;
+    private final Random random;
+    private final int[] value;
+    private int rounds;
+
+    LargeNeighbourhoodSearch(
+        SearchModel model,
+        SchedulerConfig config,
+        ConstraintValidator validator,
+        BooleanSupplier cancelled
+    ) {
+        this.model = model;
+        this.config = config;
+        this.validator = validator;
+        this.cancelled = cancelled;
+        this.random = new Random(config.getSeed());
+        this.value = new int[model.courseCount()];
+    }
+
+    /**
+     * Repairs {@code schedule} for at most {@code budgetMillis}, leaving the
+     * best schedule found in it. Stops early once every course still left out
+     * has no candidates or a professor at their maximum load.
+     */
+    void repair(Schedule schedule, long budgetMillis) {
+        long startTime = System.currentTimeMillis();
+        Arrays.fill(value, -1);
+        for (CourseAssignment assignment : schedule.getAssignments()) {
+            int course = model.courseIndex(assignment.getCourse().getId());
+            if (course >= 0) {
+                value[course] = model.candidateOf(course, assignment);
+            }
+        }
+
+        List<Integer> targets = targets(schedule);
+        while (!targets.isEmpty()) {
+            long remaining = budgetMillis - (System.currentTimeMillis() - startTime);
+            if (remaining <= 0 || cancelled.getAsBoolean()) {
+                break;
+            }
+            rounds++;
+            int target = targets.get(random.nextInt(targets.size()));
+            if (rebuild(target, schedule, remaining)) {
+                rewrite(schedule);
+                targets = targets(schedule);
+            }
+        }
+    }
+
+    int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Frees the neighbourhood of {@code target} and searches it again; adopts
+     * the result and returns true unless it places fewer courses.
+     */
+    private boolean rebuild(int target, Schedule schedule, long remainingMillis) {
+        int[] neighbourhood = neighbourhood(target);
+        boolean[] unassigned = new boolean[model.courseCount()];
+        for (int course : neighbourhood) {
+            unassigned[course] = true;
+        }
+
+        SearchBudget budget = new SearchBudget(
+            config.toBuilder()
+                .maxIterations(SUB_SEARCH_NODES)
+                .timeoutMillis(remainingMillis)
+                .repairMillis(0)
+                .build(),
+            System.currentTimeMillis(), cancelled);
+        ConstraintSearch search = new ConstraintSearch(model, config, validator, budget);
+
+        // Fixed placements are replayed into the domains; a neighbourhood course
+        // they wipe out simply cannot be placed
+        Schedule fixed = new Schedule(model.slotUniverse());
+        CourseDomains domains = new CourseDomains(model);
+        int[] noDrops = new int[model.professorCount()];
+        int placedBefore = 0;
+        for (int c = 0; c < value.length; c++) {
+            if (value[c] < 0) {
+                continue;
+            }
+            placedBefore++;
+            if (!unassigned[c]) {
+                fixed.addAssignment(model.toAssignment(c, value[c]));
+                search.forwardChecker().prune(c, value[c], domains, unassigned, fixed, noDrops);
+            }
+        }
+
+        // The search clears the flags of the courses it places
+        boolean[] free = unassigned.clone();
+        ConstraintSearch.Outcome outcome = search.search(fixed, domains, unassigned, neighbourhood, neighbourhood.length);
+        if (outcome.assignments.size() < placedBefore) {
+            return false;
+        }
+        for (int course : neighbourhood) {
+            value[course] = -1;
+        }
+        for (CourseAssignment assignment : outcome.assignments) {
+            int course = model.courseIndex(assignment.getCourse().getId());
+            if (free[course]) {
+                value[course] = model.candidateOf(course, assignment);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code target} and a random sample of the placed courses that
+     * compete with it, in the model's difficulty order.
+     */
+    private int[] neighbourhood(int target) {
+        long[] rooms = model.compatibleRooms(target);
+        long[] slots = model.compatibleSlots(target);
+        int professor = model.professorIndex(target);
+        List<Integer> competitors = new ArrayList<>();
+        for (int c = 0; c < value.length; c++) {
+            if (value[c] < 0 || !BitSets.intersects(slots, model.runFootprint(c, value[c]))) {
+                continue;
+            }
+            if (model.professorIndex(c) == professor || BitSets.get(rooms, model.roomIndex(c, value[c]))) {
+                competitors.add(c);
+            }
+        }
+        Collections.shuffle(competitors, random);
+
+        int size = Math.min(competitors.size(), NEIGHBOURHOOD_SIZE - 1);
+        int[] neighbourhood = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            neighbourhood[i] = competitors.get(i);
+        }
+        neighbourhood[size] = target;
+        Arrays.sort(neighbourhood);
+        return neighbourhood;
+    }
+
+    /**
+     * Returns the unscheduled courses that could still be placed.
+     */
+    private List<Integer> targets(Schedule schedule) {
+        List<Integer> targets = new ArrayList<>();
+        for (int c = 0; c < value.length; c++) {
+            if (value[c] < 0 && model.professor(c) != null && model.candidateCount(c) > 0
+                    && !model.atMaxLoad(c, schedule)) {
+                targets.add(c);
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Replaces the contents of {@code schedule} with the current placements,
+     * in the model's course order.
+     */
+    private void rewrite(Schedule schedule) {
+        schedule.restore(0);
+        for (int c = 0; c < value.length; c++) {
+            if (value[c] >= 0) {
+                schedule.addAssignment(model.toAssignment(c, value[c]));
+            }
+        }
+    }
+}
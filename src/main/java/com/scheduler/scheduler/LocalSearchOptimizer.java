@@ -0,0 +1,328 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import com.scheduler.util.BitSets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Improves the soft constraint score of a feasible schedule by simulated
+ * annealing over the candidate tables of a {@link SearchModel}.
+ *
+ * <p>Each step either moves one placed course to another of its candidates or
+ * swaps the room and slot-run of two placed courses. Candidates already pass
+ * every input-only hard constraint, so a step only has to check the room and
+ * professor occupancy bitsets, and the same courses stay placed, so professor
+ * loads do not change. The soft penalty of a value depends only on the course
+ * and value ({@link ConstraintValidator#softPenalty}), so the score change of a
+ * step is the difference of at most four cached numbers.
+ *
+ * <p>Placements that match no candidate are left where they are, and their
+ * slots stay busy for the courses that share their room or professor.
+ *
+ * <p>Worse steps are accepted with probability {@code exp(-delta / T)}, where
+ * the temperature {@code T} cools geometrically over the time budget. The best
+ * schedule seen is written back at the end; the run stops early once no soft
+ * constraint is violated. Only the occupancy of rooms and professors is
+ * tracked, so validators with other schedule constraints are not
+ * {@link #supports supported}.
+ */
+final class LocalSearchOptimizer {
+
+    private static final double START_TEMPERATURE = 2.0;
+    private static final double END_TEMPERATURE = 0.05;
+    private static final int CLOCK_INTERVAL = 256;
+
+    private final SearchModel model;
+    private final ConstraintValidator validator;
+    private final Random random;
+    private final int[][] penalties;
+    private final List<Map<Integer, Integer>> candidateLookup;
+    private final long[][] roomBusy;
+    private final long[][] professorBusy;
+    // Slots overlapping placements that match no candidate and never move
+    private final long[][] roomFixed;
+    private final long[][] professorFixed;
+    private final int[] value;
+
+    LocalSearchOptimizer(SearchModel model, ConstraintValidator validator, long seed) {
+        int courseCount = model.courseCount();
+        this.model = model;
+        this.validator = validator;
+        this.random = new Random(seed);
+        this.penalties = new int[courseCount][];
+        this.candidateLookup = new ArrayList<>(courseCount);
+        this.roomBusy = new long[model.roomCount()][];
+        this.professorBusy = new long[model.professorCount()][];
+        this.roomFixed = new long[model.roomCount()][];
+        this.professorFixed = new long[model.professorCount()][];
+        this.value = new int[courseCount];
+        int slotCount = model.slotUniverse().size();
+        for (int r = 0; r < roomBusy.length; r++) {
+            roomBusy[r] = BitSets.create(slotCount);
+            roomFixed[r] = BitSets.create(slotCount);
+        }
+        for (int p = 0; p < professorBusy.length; p++) {
+            professorBusy[p] = BitSets.create(slotCount);
+            professorFixed[p] = BitSets.create(slotCount);
+        }
+        for (int c = 0; c < courseCount; c++) {
+            candidateLookup.add(null);
+        }
+    }
+
+    /**
+     * Returns true if every constraint {@code validator} checks against the
+     * schedule is one the occupancy bitsets enforce, the same ones
+     * {@link TwoPhaseSearch} tracks.
+     */
+    static boolean supports(ConstraintValidator validator) {
+        return TwoPhaseSearch.supports(validator);
+    }
+
+    /**
+     * Optimizes the placements in {@code schedule} for at most
+     * {@code budgetMillis} and leaves the best schedule found in it.
+     *
+     * @return the penalty at the start and after each improvement
+     */
+    List<ImprovementStep> optimize(Schedule schedule, long budgetMillis) {
+        long startTime = System.currentTimeMillis();
+        int[] placed = load(schedule);
+        int penalty = 0;
+        for (int course : placed) {
+            penalty += penalty(course, value[course]);
+        }
+
+        List<ImprovementStep> curve = new ArrayList<>();
+        curve.add(new ImprovementStep(0, 0, penalty));
+        int bestPenalty = penalty;
+        int[] best = value.clone();
+
+        long iteration = 0;
+        double temperature = START_TEMPERATURE;
+        while (bestPenalty > 0 && placed.length > 0) {
+            if (iteration % CLOCK_INTERVAL == 0) {
+                long elapsed = System.currentTimeMillis() - startTime;
+                if (elapsed >= budgetMillis) {
+                    break;
+                }
+                temperature = START_TEMPERATURE
+                    * Math.pow(END_TEMPERATURE / START_TEMPERATURE, (double) elapsed / budgetMillis);
+            }
+            iteration++;
+
+            int delta = placed.length > 1 && random.nextBoolean()
+                ? trySwap(placed[random.nextInt(placed.length)], placed[random.nextInt(placed.length)], temperature)
+                : tryMove(placed[random.nextInt(placed.length)], temperature);
+            if (delta == Integer.MAX_VALUE) {
+                continue;
+            }
+            penalty += delta;
+            if (penalty < bestPenalty) {
+                bestPenalty = penalty;
+                System.arraycopy(value, 0, best, 0, value.length);
+                curve.add(new ImprovementStep(System.currentTimeMillis() - startTime, iteration, penalty));
+            }
+        }
+
+        if (bestPenalty < curve.get(0).getPenalty()) {
+            store(schedule, best);
+        }
+        return curve;
+    }
+
+    /**
+     * Moves {@code course} to a random other candidate if that is legal and
+     * accepted; returns the penalty change, or {@link Integer#MAX_VALUE} if
+     * nothing changed.
+     */
+    private int tryMove(int course, double temperature) {
+        int current = value[course];
+        int candidate = random.nextInt(model.candidateCount(course));
+        if (candidate == current) {
+            return Integer.MAX_VALUE;
+        }
+        int delta = penalty(course, candidate) - penalty(course, current);
+        if (!accept(delta, temperature)) {
+            return Integer.MAX_VALUE;
+        }
+        release(course, current);
+        if (!fits(course, candidate)) {
+            occupy(course, current);
+            return Integer.MAX_VALUE;
+        }
+        occupy(course, candidate);
+        value[course] = candidate;
+        return delta;
+    }
+
+    /**
+     * Gives {@code first} the room and slot-run of {@code second} and the other
+     * way round, if both courses have those candidates and the swap is legal
+     * and accepted.
+     */
+    private int trySwap(int first, int second, double temperature) {
+        if (first == second) {
+            return Integer.MAX_VALUE;
+        }
+        int firstValue = value[first];
+        int secondValue = value[second];
+        int firstCandidate = lookup(first, model.roomIndex(second, secondValue), model.startOrdinal(second, secondValue));
+        int secondCandidate = lookup(second, model.roomIndex(first, firstValue), model.startOrdinal(first, firstValue));
+        if (firstCandidate < 0 || secondCandidate < 0) {
+            return Integer.MAX_VALUE;
+        }
+        int delta = penalty(first, firstCandidate) + penalty(second, secondCandidate)
+            - penalty(first, firstValue) - penalty(second, secondValue);
+        if (!accept(delta, temperature)) {
+            return Integer.MAX_VALUE;
+        }
+        release(first, firstValue);
+        release(second, secondValue);
+        if (fits(first, firstCandidate)) {
+            occupy(first, firstCandidate);
+            if (fits(second, secondCandidate)) {
+                occupy(second, secondCandidate);
+                value[first] = firstCandidate;
+                value[second] = secondCandidate;
+                return delta;
+            }
+            release(first, firstCandidate);
+        }
+        occupy(first, firstValue);
+        occupy(second, secondValue);
+        return Integer.MAX_VALUE;
+    }
+
+    private boolean accept(int delta, double temperature) {
+        return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+    }
+
+    private boolean fits(int course, int candidate) {
+        int room = model.roomIndex(course, candidate);
+        int professor = model.professorIndex(course);
+        long[] footprint = model.runFootprint(course, candidate);
+        long[] slots = model.runSlots(course, candidate);
+        return !BitSets.intersects(footprint, roomBusy[room])
+            && !BitSets.intersects(footprint, professorBusy[professor])
+            && !BitSets.intersects(slots, roomFixed[room])
+            && !BitSets.intersects(slots, professorFixed[professor]);
+    }
+
+    private void occupy(int course, int candidate) {
+        long[] slots = model.runSlots(course, candidate);
+        BitSets.or(roomBusy[model.roomIndex(course, candidate)], slots);
+        BitSets.or(professorBusy[model.professorIndex(course)], slots);
+    }
+
+    private void release(int course, int candidate) {
+        // No other course in the same room or with the same professor holds these ordinals
+        long[] slots = model.runSlots(course, candidate);
+        BitSets.andNot(roomBusy[model.roomIndex(course, candidate)], slots);
+        BitSets.andNot(professorBusy[model.professorIndex(course)], slots);
+    }
+
+    private int penalty(int course, int candidate) {
+        int[] cached = penalties[course];
+        if (cached == null) {
+            cached = new int[model.candidateCount(course)];
+            Arrays.fill(cached, -1);
+            penalties[course] = cached;
+        }
+        if (cached[candidate] < 0) {
+            cached[candidate] = validator.softPenalty(model.course(course), model.room(course, candidate),
+                model.run(course, candidate), model.professor(course));
+        }
+        return cached[candidate];
+    }
+
+    /**
+     * Returns the candidate of {@code course} in {@code room} starting at
+     * {@code start}, or -1 if it has none.
+     */
+    private int lookup(int course, int room, int start) {
+        Map<Integer, Integer> candidates = candidateLookup.get(course);
+        int slotCount = model.slotUniverse().size();
+        if (candidates == null) {
+            candidates = new HashMap<>();
+            for (int v = 0; v < model.candidateCount(course); v++) {
+                candidates.put(model.roomIndex(course, v) * slotCount + model.startOrdinal(course, v), v);
+            }
+            candidateLookup.set(course, candidates);
+        }
+        return candidates.getOrDefault(room * slotCount + start, -1);
+    }
+
+    /**
+     * Records the candidate of every course placed in {@code schedule} and
+     * returns those courses. Placements without a candidate block their slots.
+     */
+    private int[] load(Schedule schedule) {
+        Arrays.fill(value, -1);
+        int[] placed = new int[schedule.getScheduledCoursesCount()];
+        int count = 0;
+        for (CourseAssignment assignment : schedule.getAssignments()) {
+            int course = model.courseIndex(assignment.getCourse().getId());
+            int candidate = course < 0 ? -1 : model.candidateOf(course, assignment);
+            if (candidate >= 0) {
+                value[course] = candidate;
+                occupy(course, candidate);
+                placed[count++] = course;
+            } else {
+                fix(course, assignment);
+            }
+        }
+        return Arrays.copyOf(placed, count);
+    }
+
+    private void fix(int course, CourseAssignment assignment) {
+        // Matched by time, so slots the universe does not know still block their overlaps
+        long[] overlapping = model.slotUniverse().maskOf(assignment.getTimeSlots());
+        int room = model.roomIndex(assignment.getRoom());
+        if (room >= 0) {
+            BitSets.or(roomFixed[room], overlapping);
+        }
+        int professor = course >= 0
+            ? model.professorIndex(course)
+            : professorIndex(assignment.getCourse().getProfessorId());
+        if (professor >= 0) {
+            BitSets.or(professorFixed[professor], overlapping);
+        }
+    }
+
+    /**
+     * Returns the index of the professor with the given ID, or -1 if no course
+     * of the model is theirs.
+     */
+    private int professorIndex(String professorId) {
+        for (int c = 0; c < model.courseCount(); c++) {
+            Professor professor = model.professor(c);
+            if (professor != null && professor.getId().equals(professorId)) {
+                return model.professorIndex(c);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rewrites {@code schedule} with the given candidates, keeping the order
+     * of its assignments.
+     */
+    private void store(Schedule schedule, int[] values) {
+        List<CourseAssignment> assignments = new ArrayList<>(schedule.getAssignments());
+        schedule.restore(0);
+        for (CourseAssignment assignment : assignments) {
+            int course = model.courseIndex(assignment.getCourse().getId());
+            schedule.addAssignment(course < 0 || values[course] < 0
+                ? assignment
+                : model.toAssignment(course, values[course]));
+        }
+    }
+}
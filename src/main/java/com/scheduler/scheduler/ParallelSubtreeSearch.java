@@ -0,0 +1,187 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.CourseAssignment;
+import com.scheduler.domain.Schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Splits the top {@link SchedulerConfig#getSplitDepth()} levels of a
+ * {@link ConstraintSearch} tree into fork-join tasks, so idle workers can steal
+ * unexplored subtrees. Below the split depth each task runs the sequential
+ * search on its own {@link Schedule} and domains.
+ *
+ * <p>A task is described only by its prefix of (course, candidate) decisions and
+ * rebuilds its state by replaying them, so nothing mutable is shared between
+ * threads except the {@link SearchBudget}. A course left out because of its
+ * professor's maximum load is recorded in the prefix with candidate -1. The
+ * first complete schedule stops
+ * every other task. Which complete schedule wins depends on thread timing.
+ */
+final class ParallelSubtreeSearch {
+
+    private final ConstraintSearch search;
+    private final SearchModel model;
+    private final SchedulerConfig config;
+    private final ConstraintValidator validator;
+    private final SearchBudget budget;
+    private boolean[] rootUnassigned;
+    private int[] rootOrder;
+
+    ParallelSubtreeSearch(
+        ConstraintSearch search,
+        SearchModel model,
+        SchedulerConfig config,
+        ConstraintValidator validator,
+        SearchBudget budget
+    ) {
+        this.search = search;
+        this.model = model;
+        this.config = config;
+        this.validator = validator;
+        this.budget = budget;
+    }
+
+    /**
+     * Searches the first {@code count} courses of {@code order}. Runs in the
+     * current fork-join pool if called from one, otherwise in a new pool of
+     * {@link SchedulerConfig#getWorkers()} threads.
+     */
+    ConstraintSearch.Outcome run(boolean[] unassigned, int[] order, int count) {
+        this.rootUnassigned = unassigned.clone();
+        this.rootOrder = Arrays.copyOf(order, count);
+
+        SubtreeTask root = new SubtreeTask(new int[0], new int[0]);
+        if (ForkJoinTask.inForkJoinPool()) {
+            return root.invoke();
+        }
+        ForkJoinPool pool = new ForkJoinPool(config.getWorkers());
+        try {
+            return pool.invoke(root);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Searches the subtree below a prefix of decisions.
+     */
+    private final class SubtreeTask extends RecursiveTask<ConstraintSearch.Outcome> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] prefixCourses;
+        private final int[] prefixCandidates;
+
+        SubtreeTask(int[] prefixCourses, int[] prefixCandidates) {
+            this.prefixCourses = prefixCourses;
+            this.prefixCandidates = prefixCandidates;
+        }
+
+        @Override
+        protected ConstraintSearch.Outcome compute() {
+            Schedule schedule = new Schedule(model.slotUniverse());
+            CourseDomains domains = new CourseDomains(model);
+            boolean[] unassigned = rootUnassigned.clone();
+            ForwardChecker forwardChecker = search.forwardChecker();
+            int[] dropsLeft = model.dropAllowances(rootOrder, rootOrder.length, schedule);
+            for (int i = 0; i < prefixCourses.length; i++) {
+                unassigned[prefixCourses[i]] = false;
+                if (prefixCandidates[i] < 0) {
+                    dropsLeft[model.professorIndex(prefixCourses[i])]--;
+                    continue;
+                }
+                schedule.addAssignment(model.toAssignment(prefixCourses[i], prefixCandidates[i]));
+                forwardChecker.prune(prefixCourses[i], prefixCandidates[i], domains, unassigned, schedule, dropsLeft);
+            }
+
+            int[] remaining = new int[rootOrder.length - prefixCourses.length];
+            int count = 0;
+            for (int course : rootOrder) {
+                if (unassigned[course]) {
+                    remaining[count++] = course;
+                }
+            }
+
+            if (prefixCourses.length >= config.getSplitDepth() || count == 0) {
+                ConstraintSearch.Outcome outcome = search.search(schedule, domains, unassigned, remaining, count);
+                if (outcome.complete) {
+                    budget.stop();
+                }
+                return outcome;
+            }
+
+            int course = remaining[0];
+            CourseHeap heap = search.heap(domains, remaining, count);
+            if (heap != null) {
+                course = heap.poll();
+            }
+
+            List<SubtreeTask> children = new ArrayList<>();
+            List<CourseAssignment> best = new ArrayList<>(schedule.getAssignments());
+            String stopMessage = null;
+            int mark = domains.mark();
+            int first = model.atMaxLoad(course, schedule) ? -1 : domains.next(course, 0);
+            for (int v = first; v >= 0; v = domains.next(course, v + 1)) {
+                if (config.isSymmetryBreaking()
+                        && model.hasEmptyTwinBefore(course, model.roomIndex(course, v), schedule)) {
+                    continue;
+                }
+                stopMessage = budget.exhausted();
+                if (stopMessage != null) {
+                    break;
+                }
+                budget.countNode();
+
+                if (!validator.isFeasibleOnSchedule(model.course(course), model.room(course, v), model.run(course, v),
+                        model.professor(course), schedule)) {
+                    continue;
+                }
+                CourseAssignment assignment = model.toAssignment(course, v);
+                int scheduleMark = schedule.mark();
+                schedule.addAssignment(assignment);
+                unassigned[course] = false;
+                boolean consistent = forwardChecker.prune(course, v, domains, unassigned, schedule, dropsLeft) < 0;
+                domains.restore(mark);
+                unassigned[course] = true;
+                schedule.restore(scheduleMark);
+
+                if (consistent) {
+                    children.add(new SubtreeTask(append(prefixCourses, course), append(prefixCandidates, v)));
+                } else if (best.size() == schedule.getScheduledCoursesCount()) {
+                    best.add(assignment);
+                }
+            }
+            // Leaving the course out is tried after its values
+            if (stopMessage == null && dropsLeft[model.professorIndex(course)] > 0) {
+                children.add(new SubtreeTask(append(prefixCourses, course), append(prefixCandidates, -1)));
+            }
+
+            ConstraintSearch.Outcome merged = new ConstraintSearch.Outcome(false, best, stopMessage);
+            for (SubtreeTask child : ForkJoinTask.invokeAll(children)) {
+                merged = merge(merged, child.join());
+            }
+            return merged;
+        }
+    }
+
+    private static ConstraintSearch.Outcome merge(ConstraintSearch.Outcome a, ConstraintSearch.Outcome b) {
+        if (a.complete || b.complete) {
+            return a.complete ? a : b;
+        }
+        List<CourseAssignment> best = b.assignments.size() > a.assignments.size() ? b.assignments : a.assignments;
+        return new ConstraintSearch.Outcome(false, best, a.stopMessage != null ? a.stopMessage : b.stopMessage);
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] extended = Arrays.copyOf(values, values.length + 1);
+        extended[values.length] = value;
+        return extended;
+    }
+}
@@ -0,0 +1,167 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs several differently randomized copies of {@link BacktrackingScheduler}
+ * in parallel and keeps the best result.
+ *
+ * <p>Worker 0 uses the deterministic room and slot ordering; every other worker
+ * breaks ordering ties randomly with a seed derived from
+ * {@link SchedulerConfig#getSeed()}. When a worker places every course, all
+ * workers with a higher index are cancelled, and the complete schedule of the
+ * lowest-index worker wins. If no worker completes, the schedule with the most
+ * placed courses wins, ties going to the lower index.
+ *
+ * <p>Because a worker is only ever cancelled by a lower-index worker that has
+ * already won, a given seed and worker count give the same result on every run
+ * as long as the iteration budget, not the timeout, ends the search.
+ *
+ * <p>With a {@link RestartStrategy} the workers share one
+ * {@link ConflictWeights}, so each restart starts from what every worker has
+ * learned so far, e.g. the {@link VariableOrdering#DOM_WDEG} constraint
+ * weights. Results of restarting workers may then vary from run to run.
+ */
+public class PortfolioScheduler implements Scheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioScheduler.class);
+
+    private final SchedulerConfig config;
+    private final ConstraintValidator validator;
+
+    public PortfolioScheduler(SchedulerConfig config, ConstraintValidator validator) {
+        if (config.getWorkers() < 1) {
+            throw new IllegalArgumentException("Worker count must be positive: " + config.getWorkers());
+        }
+        this.config = config;
+        this.validator = validator;
+    }
+
+    public PortfolioScheduler(SchedulerConfig config) {
+        this(config, ConstraintValidator.withDefaultConstraints());
+    }
+
+    @Override
+    public ScheduleResult schedule(
+        List<Course> courses,
+        List<Professor> professors,
+        List<Room> rooms,
+        List<TimeSlot> timeSlots
+    ) {
+        long startTime = System.currentTimeMillis();
+        int workers = config.getWorkers();
+        long[] seeds = deriveSeeds(config.getSeed(), workers);
+        AtomicInteger firstComplete = new AtomicInteger(Integer.MAX_VALUE);
+        // Weights are read when a search starts, so only restarts can use what other workers learn
+        ConflictWeights sharedWeights = config.getRestartStrategy() != RestartStrategy.NONE
+            ? new ConflictWeights(courses.size(), professors.size(), rooms.size())
+            : null;
+
+        logger.info("Starting portfolio of {} workers for {} courses", workers, courses.size());
+
+        List<Callable<ScheduleResult>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            int worker = i;
+            BacktrackingScheduler scheduler = new BacktrackingScheduler(
+                config.toBuilder().seed(seeds[i]).build(),
+                validator,
+                worker > 0,
+                () -> firstComplete.get() < worker,
+                sharedWeights);
+            tasks.add(() -> {
+                ScheduleResult result = scheduler.schedule(courses, professors, rooms, timeSlots);
+                if (isComplete(result)) {
+                    firstComplete.accumulateAndGet(worker, Math::min);
+                }
+                return result;
+            });
+        }
+
+        List<ScheduleResult> results = new ArrayList<>(workers);
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            for (Future<ScheduleResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for portfolio workers", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Portfolio worker failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int winner = firstComplete.get();
+        if (winner == Integer.MAX_VALUE) {
+            winner = 0;
+            for (int i = 1; i < workers; i++) {
+                if (scheduledCount(results.get(i)) > scheduledCount(results.get(winner))) {
+                    winner = i;
+                }
+            }
+        }
+
+        long nodesExplored = 0;
+        List<WorkerStatistics> statistics = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            ScheduleResult result = results.get(i);
+            nodesExplored += result.getNodesExplored();
+            statistics.add(new WorkerStatistics(i, seeds[i], isComplete(result), i == winner,
+                scheduledCount(result), result.getNodesExplored(), result.getExecutionTimeMillis()));
+        }
+
+        ScheduleResult best = results.get(winner);
+        List<String> messages = new ArrayList<>(best.getMessages());
+        messages.add("Portfolio of " + workers + " workers: worker " + winner +
+            " (seed " + seeds[winner] + ") won");
+        long executionTime = System.currentTimeMillis() - startTime;
+
+        logger.info("Portfolio completed in {} ms. Winner: worker {}, Scheduled: {}/{}",
+            executionTime, winner, scheduledCount(best), courses.size());
+
+        return ScheduleResult.builder()
+            .success(best.isSuccess())
+            .schedule(best.getSchedule())
+            .unscheduledCourses(best.getUnscheduledCourses())
+            .messages(messages)
+            .executionTimeMillis(executionTime)
+            .nodesExplored(nodesExplored)
+            .workerStatistics(statistics)
+            .improvementCurve(best.getImprovementCurve())
+            .build();
+    }
+
+    /**
+     * Derives one seed per worker; worker 0 keeps the configured seed.
+     */
+    static long[] deriveSeeds(long seed, int workers) {
+        Random random = new Random(seed);
+        long[] seeds = new long[workers];
+        seeds[0] = seed;
+        for (int i = 1; i < workers; i++) {
+            seeds[i] = random.nextLong();
+        }
+        return seeds;
+    }
+
+    private static boolean isComplete(ScheduleResult result) {
+        return result.isSuccess() && result.getUnscheduledCourses().isEmpty();
+    }
+
+    private static int scheduledCount(ScheduleResult result) {
+        return result.getSchedule().getScheduledCoursesCount();
+    }
+}
@@ -0,0 +1,24 @@
+package com.scheduler.scheduler;
+
+/**
+ * How many nodes each run of a restarting search may explore before the
+ * search starts over. Limits are multiples of {@link SchedulerConfig#getRestartBase()}.
+ */
+public enum RestartStrategy {
+    /**
+     * One run, limited only by the iteration budget.
+     */
+    NONE,
+
+    /**
+     * Limits follow the Luby sequence 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, ...,
+     * which is within a logarithmic factor of the best fixed limit without
+     * knowing the runtime distribution.
+     */
+    LUBY,
+
+    /**
+     * Each limit is {@link RestartingSearch#GEOMETRIC_FACTOR} times the one before.
+     */
+    GEOMETRIC
+}
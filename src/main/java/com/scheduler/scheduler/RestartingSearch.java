@@ -0,0 +1,155 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.Schedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs {@link ConstraintSearch} repeatedly with growing node limits, so that
+ * a bad decision near the root costs one short run instead of the whole budget.
+ *
+ * <p>Run {@code i} may explore {@link SchedulerConfig#getRestartBase()} times
+ * the {@code i}-th term of the {@link SchedulerConfig#getRestartStrategy()}
+ * sequence of nodes. The first run tries values in the model's table order;
+ * every later run permutes the ties of that order, between equally fitting
+ * rooms and between equally preferred slots, seeded from
+ * {@link SchedulerConfig#getSeed()}, so each run starts down a different part
+ * of the tree without compiling the model again.
+ *
+ * <p>All runs record their failures in one {@link ConflictWeights}. Later runs
+ * place the courses that failed most first: static ordering sorts them to the
+ * front, and dynamic ordering prefers them among equally ranked courses;
+ * {@link VariableOrdering#DOM_WDEG} also keeps its constraint weights.
+ *
+ * <p>Restarts stop once a run finds a complete schedule, searches its whole
+ * tree, or the budget of the whole search runs out; the most complete schedule
+ * of any run is kept. Runs are sequential, so the split depth is ignored.
+ */
+final class RestartingSearch {
+
+    static final double GEOMETRIC_FACTOR = 1.5;
+
+    private static final Logger logger = LoggerFactory.getLogger(RestartingSearch.class);
+
+    private final SearchModel model;
+    private final SchedulerConfig config;
+    private final ConstraintValidator validator;
+    private final SearchBudget budget;
+    private final ConflictWeights weights;
+    private int restarts;
+
+    RestartingSearch(
+        SearchModel model,
+        SchedulerConfig config,
+        ConstraintValidator validator,
+        SearchBudget budget,
+        ConflictWeights weights
+    ) {
+        this.model = model;
+        this.config = config;
+        this.validator = validator;
+        this.budget = budget;
+        this.weights = weights;
+    }
+
+    /**
+     * Searches for a complete schedule like {@link ConstraintSearch#solve},
+     * leaving the best one found in {@code schedule}.
+     */
+    boolean solve(Schedule schedule, List<String> unscheduledCourses, List<String> messages) {
+        int courseCount = model.courseCount();
+        boolean[] unassigned = new boolean[courseCount];
+        int[] difficultyOrder = new int[courseCount];
+        ConstraintSearch first = new ConstraintSearch(model, config, validator, budget, weights);
+        int searchable = first.prepare(unassigned, difficultyOrder, unscheduledCourses, messages);
+
+        Random tieBreaker = new Random(config.getSeed());
+        ConstraintSearch search = first;
+        int[][] valueOrder = null;
+        int[] order = difficultyOrder;
+        ConstraintSearch.Outcome best = null;
+        ConstraintSearch.Outcome last;
+        for (int run = 0; ; run++) {
+            if (run > 0) {
+                valueOrder = model.shuffledValueOrder(tieBreaker);
+                search = new ConstraintSearch(model, config, validator, budget, weights);
+                order = byFailures(difficultyOrder, searchable, weights.courseFailures());
+            }
+            budget.startRun(cutoff(config.getRestartStrategy(), config.getRestartBase(), run));
+            last = search.search(new Schedule(model.slotUniverse()), new CourseDomains(model, valueOrder),
+                unassigned.clone(), order, searchable);
+            if (best == null || last.complete || last.assignments.size() > best.assignments.size()) {
+                best = last;
+            }
+            if (!SearchBudget.RUN_CUTOFF.equals(last.stopMessage)) {
+                break;
+            }
+            restarts++;
+        }
+
+        if (restarts > 0) {
+            logger.info("Restarted the search {} times", restarts);
+            messages.add("Restarted the search " + restarts + " times");
+        }
+        ConstraintSearch.Outcome outcome = new ConstraintSearch.Outcome(last.complete, best.assignments,
+            last.stopMessage);
+        return first.report(outcome, order, searchable, schedule, unscheduledCourses, messages);
+    }
+
+    int getRestarts() {
+        return restarts;
+    }
+
+    long getNodesExplored() {
+        return budget.nodes();
+    }
+
+    /**
+     * Returns the node limit of run {@code run}, counting from 0.
+     */
+    static long cutoff(RestartStrategy strategy, int base, int run) {
+        switch (strategy) {
+            case LUBY:
+                return base * luby(run + 1);
+            case GEOMETRIC:
+                double limit = base * Math.pow(GEOMETRIC_FACTOR, run);
+                return limit >= Long.MAX_VALUE ? Long.MAX_VALUE : Math.round(limit);
+            default:
+                return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns the {@code i}-th term of the Luby sequence, counting from 1.
+     */
+    static long luby(int i) {
+        while (true) {
+            int k = 1;
+            while ((1L << k) - 1 < i) {
+                k++;
+            }
+            if ((1L << k) - 1 == i) {
+                return 1L << (k - 1);
+            }
+            // Past a full block the sequence repeats from its start
+            i -= (1 << (k - 1)) - 1;
+        }
+    }
+
+    /**
+     * Returns the first {@code count} courses of {@code order}, most failures
+     * first and otherwise in their given order.
+     */
+    private static int[] byFailures(int[] order, int count, int[] failures) {
+        return Arrays.stream(order, 0, count)
+            .boxed()
+            .sorted((a, b) -> Integer.compare(failures[b], failures[a]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+}
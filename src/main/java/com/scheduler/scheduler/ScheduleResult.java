@@ -15,6 +15,9 @@ public class ScheduleResult {
     private final List<String> unscheduledCourses;
     private final List<String> messages;
     private final long executionTimeMillis;
+    private final long nodesExplored;
+    private final List<WorkerStatistics> workerStatistics;
+    private final List<ImprovementStep> improvementCurve;
 
     private ScheduleResult(Builder builder) {
         this.success = builder.success;
@@ -23,6 +26,11 @@ public class ScheduleResult {
             new ArrayList<>(builder.unscheduledCourses));
         this.messages = Collections.unmodifiableList(new ArrayList<>(builder.messages));
         this.executionTimeMillis = builder.executionTimeMillis;
+        this.nodesExplored = builder.nodesExplored;
+        this.workerStatistics = Collections.unmodifiableList(
+            new ArrayList<>(builder.workerStatistics));
+        this.improvementCurve = Collections.unmodifiableList(
+            new ArrayList<>(builder.improvementCurve));
     }
 
     public boolean isSuccess() {
@@ -45,6 +53,30 @@ public class ScheduleResult {
         return executionTimeMillis;
     }
 
+    /**
+     * Returns the number of search nodes (candidate assignments tried).
+     */
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    /**
+     * Returns per-worker statistics of a portfolio run, or an empty list for a
+     * single search.
+     */
+    public List<WorkerStatistics> getWorkerStatistics() {
+        return workerStatistics;
+    }
+
+    /**
+     * Returns the soft constraint penalty of the schedule before local search
+     * and after each improvement it found, or an empty list if local search
+     * did not run.
+     */
+    public List<ImprovementStep> getImprovementCurve() {
+        return improvementCurve;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -55,6 +87,9 @@ public class ScheduleResult {
         private List<String> unscheduledCourses = new ArrayList<>();
         private List<String> messages = new ArrayList<>();
         private long executionTimeMillis;
+        private long nodesExplored;
+        private List<WorkerStatistics> workerStatistics = new ArrayList<>();
+        private List<ImprovementStep> improvementCurve = new ArrayList<>();
 
         public Builder success(boolean success) {
             this.success = success;
@@ -91,6 +126,21 @@ public class ScheduleResult {
             return this;
         }
 
+        public Builder nodesExplored(long nodesExplored) {
+            this.nodesExplored = nodesExplored;
+            return this;
+        }
+
+        public Builder workerStatistics(List<WorkerStatistics> workerStatistics) {
+            this.workerStatistics = new ArrayList<>(workerStatistics);
+            return this;
+        }
+
+        public Builder improvementCurve(List<ImprovementStep> improvementCurve) {
+            this.improvementCurve = new ArrayList<>(improvementCurve);
+            return this;
+        }
+
         public ScheduleResult build() {
             return new ScheduleResult(this);
         }
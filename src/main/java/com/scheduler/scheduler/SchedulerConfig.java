@@ -8,12 +8,44 @@ public class SchedulerConfig {
     private final long timeoutMillis;
     private final long seed;
     private final int maxIterations;
+    private final ConsistencyLevel consistencyLevel;
+    private final VariableOrdering variableOrdering;
+    private final BacktrackingEngine engine;
+    private final int workers;
+    private final int splitDepth;
+    private final BacktrackStrategy backtrackStrategy;
+    private final int nogoodCapacity;
+    private final long optimizationMillis;
+    private final long repairMillis;
+    private final RestartStrategy restartStrategy;
+    private final int restartBase;
+    private final boolean feasibilityCheck;
+    private final boolean twoPhase;
+    private final boolean symmetryBreaking;
 
     private SchedulerConfig(Builder builder) {
         this.treatSoftConstraintsAsHard = builder.treatSoftConstraintsAsHard;
         this.timeoutMillis = builder.timeoutMillis;
         this.seed = builder.seed;
         this.maxIterations = builder.maxIterations;
+        this.consistencyLevel = builder.consistencyLevel;
+        this.variableOrdering = builder.variableOrdering;
+        this.engine = builder.engine;
+        this.workers = builder.workers;
+        this.splitDepth = builder.splitDepth;
+        this.backtrackStrategy = builder.backtrackStrategy;
+        this.nogoodCapacity = builder.nogoodCapacity;
+        this.optimizationMillis = builder.optimizationMillis;
+        this.repairMillis = builder.repairMillis;
+        this.restartStrategy = builder.restartStrategy;
+        this.restartBase = builder.restartBase;
+        this.feasibilityCheck = builder.feasibilityCheck;
+        this.twoPhase = builder.twoPhase;
+        this.symmetryBreaking = builder.symmetryBreaking;
+        if (repairMillis > 0 && repairMillis >= timeoutMillis) {
+            throw new IllegalArgumentException("Repair time must be shorter than the timeout: "
+                + repairMillis + " ms of " + timeoutMillis + " ms");
+        }
     }
 
     public boolean isTreatSoftConstraintsAsHard() {
@@ -32,15 +64,163 @@ public class SchedulerConfig {
         return maxIterations;
     }
 
+    public ConsistencyLevel getConsistencyLevel() {
+        return consistencyLevel;
+    }
+
+    public VariableOrdering getVariableOrdering() {
+        return variableOrdering;
+    }
+
+    /**
+     * Returns the engine used for the generate-and-test search
+     * ({@link ConsistencyLevel#NONE} with static ordering).
+     */
+    public BacktrackingEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Returns the number of parallel workers: the search copies run by
+     * {@link PortfolioScheduler}, or the threads of a split subtree search.
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Returns how many top levels of the complete search are split into
+     * parallel subtree tasks; 0 searches sequentially.
+     */
+    public int getSplitDepth() {
+        return splitDepth;
+    }
+
+    public BacktrackStrategy getBacktrackStrategy() {
+        return backtrackStrategy;
+    }
+
+    /**
+     * Returns how many learned nogoods conflict-directed backjumping keeps;
+     * the oldest are dropped first.
+     */
+    public int getNogoodCapacity() {
+        return nogoodCapacity;
+    }
+
+    /**
+     * Returns how long {@link LocalSearchOptimizer} may improve the soft
+     * constraint score after the search; 0 skips it, and so does a validator
+     * with schedule constraints other than the built-in ones.
+     */
+    public long getOptimizationMillis() {
+        return optimizationMillis;
+    }
+
+    /**
+     * Returns how long {@link LargeNeighbourhoodSearch} may try to place the
+     * courses a search left unscheduled; 0 skips it. The time is reserved from
+     * the end of {@link #getTimeoutMillis()}, so the search stops that much
+     * earlier and the two together stay within the timeout. It must be shorter
+     * than the timeout, so the search always keeps some of it.
+     */
+    public long getRepairMillis() {
+        return repairMillis;
+    }
+
+    /**
+     * Returns how the complete search is cut off and restarted by
+     * {@link RestartingSearch}; {@link RestartStrategy#NONE} runs it once.
+     */
+    public RestartStrategy getRestartStrategy() {
+        return restartStrategy;
+    }
+
+    /**
+     * Returns the node limit of the first restart run, which later limits are
+     * multiples of.
+     */
+    public int getRestartBase() {
+        return restartBase;
+    }
+
+    /**
+     * Returns whether {@link FeasibilityAnalyzer} runs before the search; if it
+     * proves that not every course can be placed, the result explains why, and
+     * the search still places as many courses as it would without the check.
+     */
+    public boolean isFeasibilityCheck() {
+        return feasibilityCheck;
+    }
+
+    /**
+     * Returns whether the search branches only on slot-runs and assigns the
+     * rooms of single-slot courses by matching, as {@link TwoPhaseSearch};
+     * the consistency level, ordering, backtracking strategy, split depth and
+     * restarts are then ignored. A validator with custom schedule constraints
+     * falls back to the other searches, since the matching cannot check them.
+     */
+    public boolean isTwoPhase() {
+        return twoPhase;
+    }
+
+    /**
+     * Returns whether the complete search tries a course in only one of the
+     * still empty rooms that share capacity, features and unavailable slots,
+     * since the others would fail or succeed the same way.
+     */
+    public boolean isSymmetryBreaking() {
+        return symmetryBreaking;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
 
+    /**
+     * Returns a builder initialised with this configuration's values.
+     */
+    public Builder toBuilder() {
+        return new Builder()
+            .treatSoftConstraintsAsHard(treatSoftConstraintsAsHard)
+            .timeoutMillis(timeoutMillis)
+            .seed(seed)
+            .maxIterations(maxIterations)
+            .consistencyLevel(consistencyLevel)
+            .variableOrdering(variableOrdering)
+            .engine(engine)
+            .workers(workers)
+            .splitDepth(splitDepth)
+            .backtrackStrategy(backtrackStrategy)
+            .nogoodCapacity(nogoodCapacity)
+            .optimizationMillis(optimizationMillis)
+            .repairMillis(repairMillis)
+            .restartStrategy(restartStrategy)
+            .restartBase(restartBase)
+            .feasibilityCheck(feasibilityCheck)
+            .twoPhase(twoPhase)
+            .symmetryBreaking(symmetryBreaking);
+    }
+
     public static class Builder {
         private boolean treatSoftConstraintsAsHard = false;
         private long timeoutMillis = 60000; // 60 seconds default
         private long seed = System.currentTimeMillis();
         private int maxIterations = 10000;
+        private ConsistencyLevel consistencyLevel = ConsistencyLevel.NONE;
+        private VariableOrdering variableOrdering = VariableOrdering.STATIC;
+        private BacktrackingEngine engine = BacktrackingEngine.RECURSIVE;
+        private int workers = Runtime.getRuntime().availableProcessors();
+        private int splitDepth = 0;
+        private BacktrackStrategy backtrackStrategy = BacktrackStrategy.CHRONOLOGICAL;
+        private int nogoodCapacity = 1000;
+        private long optimizationMillis = 0;
+        private long repairMillis = 0;
+        private RestartStrategy restartStrategy = RestartStrategy.NONE;
+        private int restartBase = 100;
+        private boolean feasibilityCheck = false;
+        private boolean twoPhase = false;
+        private boolean symmetryBreaking = false;
 
         public Builder treatSoftConstraintsAsHard(boolean value) {
             this.treatSoftConstraintsAsHard = value;
@@ -62,6 +242,76 @@ public class SchedulerConfig {
             return this;
         }
 
+        public Builder consistencyLevel(ConsistencyLevel consistencyLevel) {
+            this.consistencyLevel = consistencyLevel;
+            return this;
+        }
+
+        public Builder variableOrdering(VariableOrdering variableOrdering) {
+            this.variableOrdering = variableOrdering;
+            return this;
+        }
+
+        public Builder engine(BacktrackingEngine engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        public Builder workers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        public Builder splitDepth(int splitDepth) {
+            this.splitDepth = splitDepth;
+            return this;
+        }
+
+        public Builder backtrackStrategy(BacktrackStrategy backtrackStrategy) {
+            this.backtrackStrategy = backtrackStrategy;
+            return this;
+        }
+
+        public Builder nogoodCapacity(int nogoodCapacity) {
+            this.nogoodCapacity = nogoodCapacity;
+            return this;
+        }
+
+        public Builder optimizationMillis(long optimizationMillis) {
+            this.optimizationMillis = optimizationMillis;
+            return this;
+        }
+
+        public Builder repairMillis(long repairMillis) {
+            this.repairMillis = repairMillis;
+            return this;
+        }
+
+        public Builder restartStrategy(RestartStrategy restartStrategy) {
+            this.restartStrategy = restartStrategy;
+            return this;
+        }
+
+        public Builder restartBase(int restartBase) {
+            this.restartBase = restartBase;
+            return this;
+        }
+
+        public Builder feasibilityCheck(boolean feasibilityCheck) {
+            this.feasibilityCheck = feasibilityCheck;
+            return this;
+        }
+
+        public Builder twoPhase(boolean twoPhase) {
+            this.twoPhase = twoPhase;
+            return this;
+        }
+
+        public Builder symmetryBreaking(boolean symmetryBreaking) {
+            this.symmetryBreaking = symmetryBreaking;
+            return this;
+        }
+
         public SchedulerConfig build() {
             return new SchedulerConfig(this);
         }
@@ -0,0 +1,80 @@
+package com.scheduler.scheduler;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Time and node budget of one scheduling run, shared by every thread that
+ * searches part of it. Nodes are counted atomically, so the iteration limit
+ * holds for the run as a whole rather than per thread.
+ *
+ * <p>A {@link RestartingSearch} additionally cuts each of its runs off after a
+ * number of nodes with {@link #startRun(long)}.
+ */
+final class SearchBudget {
+
+    /**
+     * Stop message of a run that reached the node limit set by {@link #startRun(long)}.
+     */
+    static final String RUN_CUTOFF = "Restart cutoff reached";
+
+    private final long startTime;
+    private final long timeoutMillis;
+    private final int maxIterations;
+    private final BooleanSupplier cancelled;
+    private final AtomicLong nodes = new AtomicLong();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private volatile long runEnd = Long.MAX_VALUE;
+
+    SearchBudget(SchedulerConfig config, long startTime, BooleanSupplier cancelled) {
+        this.startTime = startTime;
+        this.timeoutMillis = config.getTimeoutMillis();
+        this.maxIterations = config.getMaxIterations();
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Returns why the search must stop, or null if it may explore another node.
+     */
+    String exhausted() {
+        if (System.currentTimeMillis() - startTime > timeoutMillis) {
+            return "Scheduling timed out after " + timeoutMillis + " ms";
+        }
+        if (nodes.get() >= maxIterations) {
+            return "Reached maximum iterations: " + maxIterations;
+        }
+        if (stopped.get() || cancelled.getAsBoolean()) {
+            return "Search cancelled";
+        }
+        if (nodes.get() >= runEnd) {
+            return RUN_CUTOFF;
+        }
+        return null;
+    }
+
+    /**
+     * Limits the search started next to {@code nodeLimit} more nodes, on top of
+     * the budget of the whole run.
+     */
+    void startRun(long nodeLimit) {
+        long end = nodes.get() + nodeLimit;
+        runEnd = end < 0 ? Long.MAX_VALUE : end;
+    }
+
+    void countNode() {
+        nodes.incrementAndGet();
+    }
+
+    long nodes() {
+        return nodes.get();
+    }
+
+    /**
+     * Stops every search sharing this budget, e.g. once one of them has found
+     * a complete schedule.
+     */
+    void stop() {
+        stopped.set(true);
+    }
+}
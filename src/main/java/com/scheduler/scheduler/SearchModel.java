@@ -0,0 +1,585 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import com.scheduler.util.BitSets;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Index-based view of a scheduling problem, compiled once before search.
+ * Courses, rooms and professors are numbered densely, and each course gets a
+ * fixed, ordered table of (room, start-slot) candidates that pass every
+ * constraint checkable against an empty schedule.
+ *
+ * <p>The input-only parts of the constraints are compiled here, per course and
+ * room, into masks of allowed slots; a candidate is kept if its whole slot-run
+ * lies in the mask. The search then only checks the constraints that look at
+ * the schedule. Each course also keeps bitsets of the rooms and slots its
+ * candidates use.
+ *
+ * <p>Candidates of a course are stored room-major, so the candidates in one
+ * room form a contiguous index range. Rooms with the same capacity, features
+ * and unavailable slots pass the same constraints and are interchangeable.
+ */
+final class SearchModel {
+
+    private static final int PARALLEL_BUILD_THRESHOLD = 256;
+
+    private final List<Course> courses;
+    private final List<Room> rooms;
+    private final TimeSlotUniverse slotUniverse;
+    private final Professor[] professorOfCourse;
+    private final int[] professorIndexOfCourse;
+    private final int[][] coursesByProfessor;
+
+    private final int[][] candidateRooms;
+    private final int[][] candidateStarts;
+    private final long[][] compatibleRooms;
+    private final long[][] compatibleSlots;
+    private final Map<Integer, SlotRuns> runsByDuration;
+
+    // For each room: the courses with candidates in it and their index ranges
+    private final int[][] roomCourses;
+    private final int[][] roomRangeFrom;
+    private final int[][] roomRangeTo;
+    // For each room: the rooms before it in the room list that are interchangeable with it
+    private final int[][] twinsBefore;
+    private final Map<String, Integer> courseIndexById;
+
+    private SearchModel(
+        List<Course> courses,
+        List<Room> rooms,
+        TimeSlotUniverse slotUniverse,
+        Professor[] professorOfCourse,
+        int[] professorIndexOfCourse,
+        int[][] coursesByProfessor,
+        int[][] candidateRooms,
+        int[][] candidateStarts,
+        long[][] compatibleRooms,
+        long[][] compatibleSlots,
+        Map<Integer, SlotRuns> runsByDuration
+    ) {
+        this.courses = courses;
+        this.rooms = rooms;
+        this.slotUniverse = slotUniverse;
+        this.professorOfCourse = professorOfCourse;
+        this.professorIndexOfCourse = professorIndexOfCourse;
+        this.coursesByProfessor = coursesByProfessor;
+        this.candidateRooms = candidateRooms;
+        this.candidateStarts = candidateStarts;
+        this.compatibleRooms = compatibleRooms;
+        this.compatibleSlots = compatibleSlots;
+        this.runsByDuration = runsByDuration;
+        this.courseIndexById = new HashMap<>();
+        for (int c = 0; c < courses.size(); c++) {
+            courseIndexById.putIfAbsent(courses.get(c).getId(), c);
+        }
+
+        int roomCount = rooms.size();
+        List<List<int[]>> ranges = new ArrayList<>(roomCount);
+        for (int r = 0; r < roomCount; r++) {
+            ranges.add(new ArrayList<>());
+        }
+        for (int c = 0; c < courses.size(); c++) {
+            int[] roomsOfCourse = candidateRooms[c];
+            int from = 0;
+            while (from < roomsOfCourse.length) {
+                int to = from;
+                while (to < roomsOfCourse.length && roomsOfCourse[to] == roomsOfCourse[from]) {
+                    to++;
+                }
+                ranges.get(roomsOfCourse[from]).add(new int[] {c, from, to});
+                from = to;
+            }
+        }
+        this.roomCourses = new int[roomCount][];
+        this.roomRangeFrom = new int[roomCount][];
+        this.roomRangeTo = new int[roomCount][];
+        for (int r = 0; r < roomCount; r++) {
+            List<int[]> roomRanges = ranges.get(r);
+            roomCourses[r] = new int[roomRanges.size()];
+            roomRangeFrom[r] = new int[roomRanges.size()];
+            roomRangeTo[r] = new int[roomRanges.size()];
+            for (int i = 0; i < roomRanges.size(); i++) {
+                roomCourses[r][i] = roomRanges.get(i)[0];
+                roomRangeFrom[r][i] = roomRanges.get(i)[1];
+                roomRangeTo[r][i] = roomRanges.get(i)[2];
+            }
+        }
+
+        Map<List<Object>, List<Integer>> roomClasses = new HashMap<>();
+        this.twinsBefore = new int[roomCount][];
+        for (int r = 0; r < roomCount; r++) {
+            Room room = rooms.get(r);
+            List<Integer> twins = roomClasses.computeIfAbsent(
+                List.of(room.getCapacity(), room.getFeatures(), room.getUnavailableTimeSlots()),
+                key -> new ArrayList<>());
+            twinsBefore[r] = twins.stream().mapToInt(Integer::intValue).toArray();
+            twins.add(r);
+        }
+    }
+
+    /**
+     * Compiles the problem. Courses keep the given order; candidates follow the
+     * same room and slot ordering as the generate-and-test search, with ties
+     * broken by {@code tieBreaker} when it is not null.
+     *
+     * <p>Candidate tables of large inputs are built in parallel; with a
+     * {@code tieBreaker} they are built sequentially so the random ties stay
+     * reproducible.
+     */
+    static SearchModel build(
+        List<Course> orderedCourses,
+        List<Professor> professors,
+        List<Room> rooms,
+        TimeSlotUniverse slotUniverse,
+        ConstraintValidator validator,
+        Random tieBreaker
+    ) {
+        int courseCount = orderedCourses.size();
+        Map<String, Integer> professorIndex = new HashMap<>();
+        for (int p = 0; p < professors.size(); p++) {
+            professorIndex.put(professors.get(p).getId(), p);
+        }
+        Map<Room, Integer> roomIndex = new HashMap<>();
+        for (int r = 0; r < rooms.size(); r++) {
+            roomIndex.put(rooms.get(r), r);
+        }
+
+        Professor[] professorOfCourse = new Professor[courseCount];
+        int[] professorIndexOfCourse = new int[courseCount];
+        List<List<Integer>> byProfessor = new ArrayList<>();
+        for (int p = 0; p < professors.size(); p++) {
+            byProfessor.add(new ArrayList<>());
+        }
+
+        Map<Integer, SlotRuns> runsByDuration = new HashMap<>();
+        for (int c = 0; c < courseCount; c++) {
+            Course course = orderedCourses.get(c);
+            Integer p = professorIndex.get(course.getProfessorId());
+            professorIndexOfCourse[c] = p == null ? -1 : p;
+            if (p != null) {
+                professorOfCourse[c] = professors.get(p);
+                byProfessor.get(p).add(c);
+                runsByDuration.computeIfAbsent(course.getDuration(), d -> new SlotRuns(slotUniverse, d));
+            }
+        }
+
+        int[][] candidateRooms = new int[courseCount][];
+        int[][] candidateStarts = new int[courseCount][];
+        long[][] compatibleRooms = new long[courseCount][];
+        long[][] compatibleSlots = new long[courseCount][];
+        List<TimeSlot> timeSlots = slotUniverse.getTimeSlots();
+        RoomIndex roomsByFit = RoomIndex.of(rooms);
+
+        IntConsumer compileCourse = c -> {
+            Course course = orderedCourses.get(c);
+            Professor professor = professorOfCourse[c];
+            compatibleRooms[c] = BitSets.create(rooms.size());
+            compatibleSlots[c] = BitSets.create(slotUniverse.size());
+            if (professor == null) {
+                candidateRooms[c] = new int[0];
+                candidateStarts[c] = new int[0];
+                return;
+            }
+            SlotRuns runs = runsByDuration.get(course.getDuration());
+            int[] starts = orderedStarts(
+                Heuristics.orderTimeSlots(timeSlots, course, tieBreaker), runs, slotUniverse, tieBreaker != null);
+
+            List<Integer> roomsOfCourse = new ArrayList<>();
+            List<Integer> startsOfCourse = new ArrayList<>();
+            for (Room room : Heuristics.orderRoomsByFit(roomsByFit, course, tieBreaker)) {
+                long[] allowed = validator.staticSlotMask(course, room, professor, slotUniverse);
+                if (BitSets.isEmpty(allowed)) {
+                    continue;
+                }
+                int r = roomIndex.get(room);
+                for (int start : starts) {
+                    if (BitSets.containsAll(allowed, runs.slots[start])) {
+                        roomsOfCourse.add(r);
+                        startsOfCourse.add(start);
+                        BitSets.set(compatibleRooms[c], r);
+                        BitSets.or(compatibleSlots[c], runs.slots[start]);
+                    }
+                }
+            }
+            candidateRooms[c] = roomsOfCourse.stream().mapToInt(Integer::intValue).toArray();
+            candidateStarts[c] = startsOfCourse.stream().mapToInt(Integer::intValue).toArray();
+        };
+        if (tieBreaker == null && courseCount >= PARALLEL_BUILD_THRESHOLD) {
+            IntStream.range(0, courseCount).parallel().forEach(compileCourse);
+        } else {
+            IntStream.range(0, courseCount).forEach(compileCourse);
+        }
+
+        int[][] coursesByProfessor = new int[professors.size()][];
+        for (int p = 0; p < professors.size(); p++) {
+            coursesByProfessor[p] = byProfessor.get(p).stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new SearchModel(orderedCourses, rooms, slotUniverse, professorOfCourse,
+            professorIndexOfCourse, coursesByProfessor, candidateRooms, candidateStarts, compatibleRooms,
+            compatibleSlots, runsByDuration);
+    }
+
+    /**
+     * Returns the start ordinals of a course's slot-runs in trial order. Single
+     * slots follow the preference order; longer runs are taken in slot order,
+     * as the generate-and-test search always did, unless the slot order was
+     * randomized, in which case runs follow the position of their first slot
+     * so that differently seeded searches try them in different orders.
+     */
+    private static int[] orderedStarts(
+        List<TimeSlot> orderedSlots,
+        SlotRuns runs,
+        TimeSlotUniverse slotUniverse,
+        boolean randomized
+    ) {
+        if (runs.duration == 1) {
+            return orderedSlots.stream().mapToInt(slotUniverse::ordinalOf).toArray();
+        }
+        long[] starts = slotUniverse.runStarts(runs.duration);
+        int[] ordered = new int[BitSets.cardinality(starts)];
+        int count = 0;
+        if (randomized) {
+            for (TimeSlot slot : orderedSlots) {
+                int start = slotUniverse.ordinalOf(slot);
+                if (BitSets.get(starts, start)) {
+                    ordered[count++] = start;
+                }
+            }
+            return ordered;
+        }
+        for (int start = BitSets.nextSetBit(starts, 0); start >= 0; start = BitSets.nextSetBit(starts, start + 1)) {
+            ordered[count++] = start;
+        }
+        return ordered;
+    }
+
+    int courseCount() {
+        return courses.size();
+    }
+
+    int roomCount() {
+        return rooms.size();
+    }
+
+    int professorCount() {
+        return coursesByProfessor.length;
+    }
+
+    Course course(int course) {
+        return courses.get(course);
+    }
+
+    /**
+     * Returns the index of the course with the given ID, or -1 if it is not in the model.
+     */
+    int courseIndex(String courseId) {
+        Integer course = courseIndexById.get(courseId);
+        return course == null ? -1 : course;
+    }
+
+    /**
+     * Returns the candidate of {@code course} that places it like
+     * {@code assignment}, or -1 if it has none.
+     */
+    int candidateOf(int course, CourseAssignment assignment) {
+        int start = slotUniverse.ordinalOf(assignment.getTimeSlots().get(0));
+        for (int v = 0; v < candidateStarts[course].length; v++) {
+            if (candidateStarts[course][v] == start && room(course, v).equals(assignment.getRoom())) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    Professor professor(int course) {
+        return professorOfCourse[course];
+    }
+
+    int professorIndex(int course) {
+        return professorIndexOfCourse[course];
+    }
+
+    /**
+     * Returns true if the professor of a course already teaches their maximum
+     * load in {@code schedule}, so the course can no longer be placed.
+     */
+    boolean atMaxLoad(int course, Schedule schedule) {
+        Professor professor = professorOfCourse[course];
+        return schedule.getProfessorLoad(professor.getId()) >= professor.getMaxLoad();
+    }
+
+    /**
+     * Returns, for every professor, how many of the first {@code count} courses
+     * of {@code order} can be left out while the rest still fill the professor's
+     * maximum load in {@code schedule}.
+     */
+    int[] dropAllowances(int[] order, int count, Schedule schedule) {
+        int[] allowances = new int[coursesByProfessor.length];
+        for (int i = 0; i < count; i++) {
+            allowances[professorIndexOfCourse[order[i]]]++;
+        }
+        for (int p = 0; p < allowances.length; p++) {
+            if (allowances[p] > 0) {
+                Professor professor = professorOfCourse[coursesByProfessor[p][0]];
+                int free = Math.max(0, professor.getMaxLoad() - schedule.getProfessorLoad(professor.getId()));
+                allowances[p] = Math.max(0, allowances[p] - free);
+            }
+        }
+        return allowances;
+    }
+
+    /**
+     * Describes a course left out because its professor reached their maximum load.
+     */
+    String maxLoadMessage(int course) {
+        Professor professor = professorOfCourse[course];
+        return "Professor " + professor.getId() + " reached max load of " + professor.getMaxLoad() +
+            " courses; course " + courses.get(course).getId() + " not scheduled";
+    }
+
+    TimeSlotUniverse slotUniverse() {
+        return slotUniverse;
+    }
+
+    int candidateCount(int course) {
+        return candidateRooms[course].length;
+    }
+
+    /**
+     * Returns the rooms in which a course has at least one candidate.
+     */
+    long[] compatibleRooms(int course) {
+        return compatibleRooms[course];
+    }
+
+    /**
+     * Returns the slot ordinals covered by at least one candidate of a course.
+     */
+    long[] compatibleSlots(int course) {
+        return compatibleSlots[course];
+    }
+
+    int roomIndex(int course, int candidate) {
+        return candidateRooms[course][candidate];
+    }
+
+    /**
+     * Returns the index of a room, or -1 if it is not in the model.
+     */
+    int roomIndex(Room room) {
+        return rooms.indexOf(room);
+    }
+
+    Room room(int course, int candidate) {
+        return rooms.get(candidateRooms[course][candidate]);
+    }
+
+    /**
+     * Returns true if {@code room} is still empty in {@code schedule} and
+     * {@code course} can use an interchangeable room before it in the room
+     * list that is empty too. Every value of the course in {@code room} then
+     * mirrors a value in that room, and fails or succeeds the same way.
+     */
+    boolean hasEmptyTwinBefore(int course, int room, Schedule schedule) {
+        if (twinsBefore[room].length == 0 || !isEmpty(room, schedule)) {
+            return false;
+        }
+        for (int twin : twinsBefore[room]) {
+            if (BitSets.get(compatibleRooms[course], twin) && isEmpty(twin, schedule)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isEmpty(int room, Schedule schedule) {
+        return schedule.getAssignmentsForRoom(rooms.get(room).getId()).isEmpty();
+    }
+
+    /**
+     * Returns the candidates of every course in a random order that keeps the
+     * table's ranking: blocks of equally fitting rooms trade places, and each
+     * room's slot-runs are taken preferred first, in random order within each
+     * group, as a model built with {@code random} as tie-breaker would list them.
+     */
+    int[][] shuffledValueOrder(Random random) {
+        int[][] order = new int[courses.size()][];
+        List<TimeSlot> timeSlots = slotUniverse.getTimeSlots();
+        for (int c = 0; c < courses.size(); c++) {
+            int[] rank = new int[slotUniverse.size()];
+            List<TimeSlot> slotOrder = Heuristics.orderTimeSlots(timeSlots, courses.get(c), random);
+            for (int i = 0; i < slotOrder.size(); i++) {
+                rank[slotUniverse.ordinalOf(slotOrder.get(i))] = i;
+            }
+
+            List<List<Integer>> blocks = new ArrayList<>();
+            int[] roomsOfCourse = candidateRooms[c];
+            for (int v = 0; v < roomsOfCourse.length; v++) {
+                if (v == 0 || roomsOfCourse[v] != roomsOfCourse[v - 1]) {
+                    blocks.add(new ArrayList<>());
+                }
+                blocks.get(blocks.size() - 1).add(v);
+            }
+            int start = 0;
+            while (start < blocks.size()) {
+                Room first = rooms.get(roomsOfCourse[blocks.get(start).get(0)]);
+                int end = start + 1;
+                while (end < blocks.size() && sameFit(first, rooms.get(roomsOfCourse[blocks.get(end).get(0)]))) {
+                    end++;
+                }
+                Collections.shuffle(blocks.subList(start, end), random);
+                start = end;
+            }
+
+            int[] starts = candidateStarts[c];
+            order[c] = blocks.stream()
+                .flatMap(block -> block.stream().sorted(Comparator.comparingInt(v -> rank[starts[v]])))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+        return order;
+    }
+
+    private static boolean sameFit(Room a, Room b) {
+        return a.getCapacity() == b.getCapacity() && a.getFeatures().size() == b.getFeatures().size();
+    }
+
+    int startOrdinal(int course, int candidate) {
+        return candidateStarts[course][candidate];
+    }
+
+    List<TimeSlot> run(int course, int candidate) {
+        return runs(course).runs.get(candidateStarts[course][candidate]);
+    }
+
+    /**
+     * Returns the ordinals occupied by a candidate's slot-run.
+     */
+    long[] runSlots(int course, int candidate) {
+        return runs(course).slots[candidateStarts[course][candidate]];
+    }
+
+    /**
+     * Returns the ordinals occupied by a course's slot-run beginning at {@code start}.
+     */
+    long[] startSlots(int course, int start) {
+        return runs(course).slots[start];
+    }
+
+    /**
+     * Returns the ordinals that overlap a course's slot-run beginning at {@code start}.
+     */
+    long[] startFootprint(int course, int start) {
+        return runs(course).footprints[start];
+    }
+
+    /**
+     * Returns the ordinals that overlap a candidate's slot-run.
+     */
+    long[] runFootprint(int course, int candidate) {
+        return runs(course).footprints[candidateStarts[course][candidate]];
+    }
+
+    /**
+     * Returns the courses taught by a professor.
+     */
+    int[] coursesOfProfessor(int professor) {
+        return coursesByProfessor[professor];
+    }
+
+    int[] coursesInRoom(int room) {
+        return roomCourses[room];
+    }
+
+    int[] roomRangeFrom(int room) {
+        return roomRangeFrom[room];
+    }
+
+    int[] roomRangeTo(int room) {
+        return roomRangeTo[room];
+    }
+
+    /**
+     * Counts, for every course, the other courses that share its professor or
+     * at least one of its candidate rooms.
+     */
+    int[] degrees() {
+        int courseCount = courses.size();
+        int[] degrees = new int[courseCount];
+        int[] seenBy = new int[courseCount];
+        Arrays.fill(seenBy, -1);
+        for (int c = 0; c < courseCount; c++) {
+            seenBy[c] = c;
+            int count = 0;
+            int professor = professorIndexOfCourse[c];
+            if (professor >= 0) {
+                for (int other : coursesByProfessor[professor]) {
+                    if (seenBy[other] != c) {
+                        seenBy[other] = c;
+                        count++;
+                    }
+                }
+            }
+            long[] roomsOfCourse = compatibleRooms[c];
+            for (int r = BitSets.nextSetBit(roomsOfCourse, 0); r >= 0; r = BitSets.nextSetBit(roomsOfCourse, r + 1)) {
+                for (int other : roomCourses[r]) {
+                    if (seenBy[other] != c) {
+                        seenBy[other] = c;
+                        count++;
+                    }
+                }
+            }
+            degrees[c] = count;
+        }
+        return degrees;
+    }
+
+    CourseAssignment toAssignment(int course, int candidate) {
+        return new CourseAssignment(courses.get(course), room(course, candidate), run(course, candidate));
+    }
+
+    private SlotRuns runs(int course) {
+        return runsByDuration.get(courses.get(course).getDuration());
+    }
+
+    /**
+     * Slot-runs of one duration, indexed by start ordinal; null where no run of
+     * that duration starts.
+     */
+    private static final class SlotRuns {
+        private final int duration;
+        private final List<List<TimeSlot>> runs;
+        private final long[][] slots;
+        private final long[][] footprints;
+
+        SlotRuns(TimeSlotUniverse slotUniverse, int duration) {
+            int size = slotUniverse.size();
+            this.duration = duration;
+            this.runs = new ArrayList<>(size);
+            this.slots = new long[size][];
+            this.footprints = new long[size][];
+
+            runs.addAll(Collections.nCopies(size, null));
+            long[] starts = slotUniverse.runStarts(duration);
+            for (int start = BitSets.nextSetBit(starts, 0); start >= 0; start = BitSets.nextSetBit(starts, start + 1)) {
+                List<TimeSlot> run = new ArrayList<>(duration);
+                long[] runSlots = BitSets.create(size);
+                long[] footprint = BitSets.create(size);
+                for (int ordinal = start; run.size() < duration; ordinal = slotUniverse.successorOf(ordinal)) {
+                    run.add(slotUniverse.slotAt(ordinal));
+                    BitSets.set(runSlots, ordinal);
+                    BitSets.or(footprint, slotUniverse.overlapMask(ordinal));
+                }
+                runs.set(start, Collections.unmodifiableList(run));
+                slots[start] = runSlots;
+                footprints[start] = footprint;
+            }
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.Constraint;
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.constraints.ProfessorAvailabilityConstraint;
+import com.scheduler.constraints.ProfessorLoadConstraint;
+import com.scheduler.constraints.RoomAvailabilityConstraint;
+import com.scheduler.domain.*;
+import com.scheduler.util.BitSets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Complete depth-first search that branches on the slot-run of each course and
+ * leaves its room to a bipartite matching per time slot.
+ *
+ * <p>The candidate tables list every room for every slot-run, so the other
+ * searches branch on both. A course whose run is one slot overlapping no other
+ * slot competes for rooms only with the courses holding that same slot, so the
+ * rooms of such courses form a matching of each slot's courses to the rooms
+ * their candidates allow there. Placing one adds it to the matching of its slot
+ * by an augmenting path, which may move other courses of the slot to another
+ * room but never changes a time; if no path exists no room assignment fits the
+ * slot's courses and the value is a dead end. Rooms are tried tightest first,
+ * so a course takes the room with the least spare capacity that a path allows.
+ *
+ * <p>A course running over several slots, or over slots that overlap others,
+ * must keep one room across several matchings, so its values remain the room
+ * and slot-run pairs of its candidates. It holds its room in every slot of its
+ * run; matched courses in its way are moved by augmenting paths as well.
+ *
+ * <p>Candidates already pass every input-only hard constraint, so a value only
+ * checks the professor occupancy bitsets and the matchings. These stand in for
+ * the built-in schedule constraints, so the search only runs for a validator
+ * whose schedule constraints are all built in; see {@link #supports}.
+ *
+ * <p>A course tries the starts its professor is free for, those with the most
+ * of its rooms still free first. After a placement every later course sharing
+ * its professor, or its time and rooms, must still have a value that fits;
+ * otherwise the placement is a dead end. Courses are searched in the model's difficulty
+ * order with chronological backtracking, and a professor's courses beyond
+ * their maximum load may be left out as in {@link ConstraintSearch}.
+ */
+final class TwoPhaseSearch {
+
+    // The schedule constraints the occupancy bitsets, matchings and loads enforce
+    private static final Set<Class<?>> TRACKED_CONSTRAINTS = Set.of(
+        ProfessorAvailabilityConstraint.class, RoomAvailabilityConstraint.class, ProfessorLoadConstraint.class);
+
+    private final SearchModel model;
+    private final SchedulerConfig config;
+    private final ConstraintValidator validator;
+    private final SearchBudget budget;
+    // Per course, its distinct start ordinals in candidate order, and per start
+    // the candidates beginning there, tightest room first
+    private final int[][] starts;
+    private final int[][][] choices;
+    // Per course, the start and choice of each value, grouped by start; a
+    // choice of -1 leaves the room to the matching
+    private final int[][] valueStart;
+    private final int[][] valueChoice;
+    private final int[][] firstValue;
+    // Per slot ordinal and room, the placed course holding it, or -1
+    private final int[][] roomOwner;
+    private final long[][] professorBusy;
+    private final int[] load;
+    private final int[] placedStart;
+    private final int[] placedChoice;
+    private final int[] placedRoom;
+    private final boolean[] visited;
+
+    TwoPhaseSearch(SearchModel model, SchedulerConfig config, ConstraintValidator validator, SearchBudget budget) {
+        int courseCount = model.courseCount();
+        int slotCount = model.slotUniverse().size();
+        this.model = model;
+        this.config = config;
+        this.validator = validator;
+        this.budget = budget;
+        this.starts = new int[courseCount][];
+        this.choices = new int[courseCount][][];
+        this.valueStart = new int[courseCount][];
+        this.valueChoice = new int[courseCount][];
+        this.firstValue = new int[courseCount][];
+        this.roomOwner = new int[slotCount][model.roomCount()];
+        this.professorBusy = new long[model.professorCount()][];
+        this.load = new int[model.professorCount()];
+        this.placedStart = new int[courseCount];
+        this.placedChoice = new int[courseCount];
+        this.placedRoom = new int[courseCount];
+        this.visited = new boolean[model.roomCount()];
+        for (int[] owners : roomOwner) {
+            Arrays.fill(owners, -1);
+        }
+        for (int p = 0; p < professorBusy.length; p++) {
+            professorBusy[p] = BitSets.create(slotCount);
+        }
+        Arrays.fill(placedStart, -1);
+        for (int c = 0; c < courseCount; c++) {
+            tabulate(c, slotCount);
+        }
+    }
+
+    /**
+     * Returns true if every constraint {@code validator} checks against the
+     * schedule is one this search enforces itself. Matched courses change rooms
+     * after they are placed, so other schedule constraints cannot be checked
+     * once per placement.
+     */
+    static boolean supports(ConstraintValidator validator) {
+        for (Constraint constraint : validator.getScheduleConstraints()) {
+            if (!TRACKED_CONSTRAINTS.contains(constraint.getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Searches for a complete schedule, leaving the best one found in {@code schedule}.
+     *
+     * @return true if every course with at least one candidate was placed or
+     *         left out because its professor reached their maximum load
+     */
+    boolean solve(Schedule schedule, List<String> unscheduledCourses, List<String> messages) {
+        int courseCount = model.courseCount();
+        boolean[] unassigned = new boolean[courseCount];
+        int[] order = new int[courseCount];
+        // Only its reporting is used, which does not depend on the ordering
+        ConstraintSearch reporter = new ConstraintSearch(
+            model, config.toBuilder().variableOrdering(VariableOrdering.STATIC).build(), validator, budget);
+        int searchable = reporter.prepare(unassigned, order, unscheduledCourses, messages);
+        ConstraintSearch.Outcome outcome = search(order, searchable);
+        return reporter.report(outcome, order, searchable, schedule, unscheduledCourses, messages);
+    }
+
+    /**
+     * Searches for slot-runs and rooms of the first {@code count} courses of {@code order}.
+     *
+     * @return the complete schedule, or the largest partial one found
+     */
+    ConstraintSearch.Outcome search(int[] order, int count) {
+        int[] dropsLeft = model.dropAllowances(order, count, new Schedule(model.slotUniverse()));
+        int[][] frameValues = new int[count][];
+        int[] frameCursor = new int[count];
+        boolean[] frameDropped = new boolean[count];
+        List<CourseAssignment> best = new ArrayList<>();
+        String stopMessage = null;
+        int placedCount = 0;
+
+        int depth = 0;
+        boolean resume = false;
+        boolean complete = false;
+
+        search:
+        while (true) {
+            if (depth == count) {
+                complete = true;
+                break;
+            }
+
+            int course = order[depth];
+            int professor = model.professorIndex(course);
+            // A course left out has already tried all its values
+            boolean wasDropped = resume && frameDropped[depth];
+            if (!resume) {
+                frameValues[depth] = valueOrder(course);
+                frameCursor[depth] = 0;
+                frameDropped[depth] = false;
+            } else if (wasDropped) {
+                dropsLeft[professor]++;
+            } else {
+                release(course);
+                placedCount--;
+            }
+
+            boolean placed = false;
+            if (!wasDropped && load[professor] < model.professor(course).getMaxLoad()) {
+                int[] values = frameValues[depth];
+                for (int i = frameCursor[depth]; i < values.length; i++) {
+                    stopMessage = budget.exhausted();
+                    if (stopMessage != null) {
+                        break search;
+                    }
+                    budget.countNode();
+                    frameCursor[depth] = i + 1;
+                    int v = values[i];
+                    if (!place(course, valueStart[course][v], valueChoice[course][v])) {
+                        continue;
+                    }
+                    // The placement itself is legal even if it leaves a later course without a value
+                    if (placedCount + 1 > best.size()) {
+                        best = assignments(order, depth + 1);
+                    }
+                    if (!wipesOut(course, order, depth, count, dropsLeft)) {
+                        placed = true;
+                        break;
+                    }
+                    release(course);
+                }
+            }
+            if (placed) {
+                placedCount++;
+            } else if (!wasDropped && dropsLeft[professor] > 0) {
+                dropsLeft[professor]--;
+                frameDropped[depth] = true;
+                placed = true;
+            }
+            if (placed) {
+                depth++;
+                resume = false;
+                continue;
+            }
+
+            depth--;
+            resume = true;
+            if (depth < 0) {
+                break;
+            }
+        }
+
+        if (complete) {
+            return new ConstraintSearch.Outcome(true, assignments(order, count), null);
+        }
+        return new ConstraintSearch.Outcome(false, best, stopMessage);
+    }
+
+    long getNodesExplored() {
+        return budget.nodes();
+    }
+
+    /**
+     * Returns the values of {@code course} whose start its professor is free
+     * for, starts with more free rooms of the course first. Leaving rooms to
+     * the courses still to come keeps their matchings easy.
+     */
+    private int[] valueOrder(int course) {
+        int[][] candidates = choices[course];
+        long[] busy = professorBusy[model.professorIndex(course)];
+        long[] keys = new long[candidates.length];
+        int startCount = 0;
+        for (int k = 0; k < candidates.length; k++) {
+            if (BitSets.intersects(model.runFootprint(course, candidates[k][0]), busy)) {
+                continue;
+            }
+            int slot = starts[course][k];
+            int taken = 0;
+            for (int candidate : candidates[k]) {
+                if (roomOwner[slot][model.roomIndex(course, candidate)] >= 0) {
+                    taken++;
+                }
+            }
+            keys[startCount++] = (long) (taken - candidates[k].length) << 32 | k;
+        }
+        Arrays.sort(keys, 0, startCount);
+
+        int[] from = firstValue[course];
+        int valueCount = 0;
+        for (int i = 0; i < startCount; i++) {
+            int k = (int) keys[i];
+            valueCount += from[k + 1] - from[k];
+        }
+        int[] values = new int[valueCount];
+        int next = 0;
+        for (int i = 0; i < startCount; i++) {
+            int k = (int) keys[i];
+            for (int v = from[k]; v < from[k + 1]; v++) {
+                values[next++] = v;
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Places {@code course} at its {@code start}-th start, in the room of the
+     * given choice or, with choice -1, in whatever room the slot's matching
+     * finds for it.
+     *
+     * @return false, leaving every placement as it was, if it does not fit
+     */
+    private boolean place(int course, int start, int choice) {
+        int candidate = choices[course][start][0];
+        long[] footprint = model.runFootprint(course, candidate);
+        int professor = model.professorIndex(course);
+        if (BitSets.intersects(footprint, professorBusy[professor])) {
+            return false;
+        }
+
+        placedStart[course] = start;
+        placedChoice[course] = choice;
+        if (choice < 0) {
+            Arrays.fill(visited, false);
+            if (!augment(course, starts[course][start])) {
+                placedStart[course] = -1;
+                return false;
+            }
+        } else {
+            int room = model.roomIndex(course, choices[course][start][choice]);
+            if (!claim(room, footprint)) {
+                placedStart[course] = -1;
+                return false;
+            }
+            long[] slots = model.runSlots(course, candidate);
+            for (int s = BitSets.nextSetBit(slots, 0); s >= 0; s = BitSets.nextSetBit(slots, s + 1)) {
+                roomOwner[s][room] = course;
+            }
+            placedRoom[course] = room;
+        }
+        BitSets.or(professorBusy[professor], model.runSlots(course, candidate));
+        load[professor]++;
+        return true;
+    }
+
+    /**
+     * Returns whether placing {@code course} left a later course of
+     * {@code order} that competes with it for its professor or rooms without
+     * any value, while its professor may not leave out any more courses.
+     * Trying a value may move matched courses, but only to other legal rooms.
+     */
+    private boolean wipesOut(int course, int[] order, int depth, int count, int[] dropsLeft) {
+        int professor = model.professorIndex(course);
+        long[] footprint = model.runFootprint(course, choices[course][placedStart[course]][0]);
+        long[] rooms = model.compatibleRooms(course);
+        for (int i = depth + 1; i < count; i++) {
+            int other = order[i];
+            int otherProfessor = model.professorIndex(other);
+            if (dropsLeft[otherProfessor] > 0) {
+                continue;
+            }
+            if (otherProfessor != professor && !(BitSets.intersects(model.compatibleSlots(other), footprint)
+                    && BitSets.intersects(model.compatibleRooms(other), rooms))) {
+                continue;
+            }
+            if (!hasValue(other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasValue(int course) {
+        for (int v = 0; v < valueStart[course].length; v++) {
+            if (place(course, valueStart[course][v], valueChoice[course][v])) {
+                release(course);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes back the placement of {@code course}. The other courses of its
+     * slots keep their rooms, which still form a matching.
+     */
+    private void release(int course) {
+        int start = placedStart[course];
+        long[] slots = model.runSlots(course, choices[course][start][0]);
+        int professor = model.professorIndex(course);
+        BitSets.andNot(professorBusy[professor], slots);
+        load[professor]--;
+        for (int s = BitSets.nextSetBit(slots, 0); s >= 0; s = BitSets.nextSetBit(slots, s + 1)) {
+            roomOwner[s][placedRoom[course]] = -1;
+        }
+        placedStart[course] = -1;
+    }
+
+    /**
+     * Finds a room for the matched {@code course} at {@code slot} along an
+     * augmenting path through the rooms not yet visited, moving the matched
+     * courses on the path. Courses holding a room of their own choice stay put.
+     */
+    private boolean augment(int course, int slot) {
+        for (int candidate : choices[course][placedStart[course]]) {
+            int room = model.roomIndex(course, candidate);
+            if (visited[room]) {
+                continue;
+            }
+            visited[room] = true;
+            int owner = roomOwner[slot][room];
+            if (owner < 0 || placedChoice[owner] < 0 && augment(owner, slot)) {
+                roomOwner[slot][room] = course;
+                placedRoom[course] = room;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Frees {@code room} at every slot of {@code footprint} by moving the
+     * matched courses holding it to other rooms.
+     *
+     * @return false if a slot is held by a course that cannot move; courses
+     *         already moved keep their new rooms
+     */
+    private boolean claim(int room, long[] footprint) {
+        for (int s = BitSets.nextSetBit(footprint, 0); s >= 0; s = BitSets.nextSetBit(footprint, s + 1)) {
+            int owner = roomOwner[s][room];
+            if (owner < 0) {
+                continue;
+            }
+            if (placedChoice[owner] >= 0) {
+                return false;
+            }
+            Arrays.fill(visited, false);
+            visited[room] = true;
+            roomOwner[s][room] = -1;
+            if (!augment(owner, s)) {
+                roomOwner[s][room] = owner;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the placements of the first {@code depth} courses of {@code order}.
+     */
+    private List<CourseAssignment> assignments(int[] order, int depth) {
+        List<CourseAssignment> assignments = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) {
+            int course = order[i];
+            if (placedStart[course] < 0) {
+                continue;
+            }
+            int[] candidates = choices[course][placedStart[course]];
+            int candidate = placedChoice[course] >= 0 ? candidates[placedChoice[course]] : -1;
+            for (int v = 0; candidate < 0; v++) {
+                if (model.roomIndex(course, candidates[v]) == placedRoom[course]) {
+                    candidate = candidates[v];
+                }
+            }
+            assignments.add(model.toAssignment(course, candidate));
+        }
+        return assignments;
+    }
+
+    /**
+     * Groups the candidates of {@code course} by start and lists its values:
+     * one per start whose run is a single slot overlapping no other, and one
+     * per candidate for every other start.
+     */
+    private void tabulate(int course, int slotCount) {
+        int[] startIndex = new int[slotCount];
+        Arrays.fill(startIndex, -1);
+        List<List<Integer>> byStart = new ArrayList<>();
+        int[] startOrdinals = new int[slotCount];
+        for (int v = 0; v < model.candidateCount(course); v++) {
+            int start = model.startOrdinal(course, v);
+            if (startIndex[start] < 0) {
+                startIndex[start] = byStart.size();
+                startOrdinals[byStart.size()] = start;
+                byStart.add(new ArrayList<>());
+            }
+            byStart.get(startIndex[start]).add(v);
+        }
+
+        starts[course] = Arrays.copyOf(startOrdinals, byStart.size());
+        choices[course] = new int[byStart.size()][];
+        List<int[]> values = new ArrayList<>();
+        firstValue[course] = new int[byStart.size() + 1];
+        for (int k = 0; k < byStart.size(); k++) {
+            firstValue[course][k] = values.size();
+            int[] candidates = byStart.get(k).stream().mapToInt(Integer::intValue).toArray();
+            choices[course][k] = candidates;
+            if (BitSets.cardinality(model.runFootprint(course, candidates[0])) == 1) {
+                values.add(new int[] {k, -1});
+            } else {
+                for (int i = 0; i < candidates.length; i++) {
+                    values.add(new int[] {k, i});
+                }
+            }
+        }
+        firstValue[course][byStart.size()] = values.size();
+        valueStart[course] = values.stream().mapToInt(value -> value[0]).toArray();
+        valueChoice[course] = values.stream().mapToInt(value -> value[1]).toArray();
+    }
+}
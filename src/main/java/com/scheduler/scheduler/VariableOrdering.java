@@ -0,0 +1,30 @@
+package com.scheduler.scheduler;
+
+/**
+ * Strategy for choosing which course to place next.
+ */
+public enum VariableOrdering {
+    /**
+     * Courses are placed in the fixed order of {@link Heuristics#orderCoursesByDifficulty}.
+     */
+    STATIC,
+
+    /**
+     * At each node, the unassigned course with the fewest remaining feasible
+     * (room, slot-run) values is placed next; ties go to the course that shares
+     * its professor or candidate rooms with the most other courses.
+     * Needs live domains, so forward checking is used even when the
+     * consistency level is {@link ConsistencyLevel#NONE}.
+     */
+    MRV_DEGREE,
+
+    /**
+     * Like {@link #MRV_DEGREE}, but the course with the smallest ratio of
+     * remaining values to weighted degree goes next. Each professor and room
+     * constraint gains weight whenever it wipes out a domain, and a course's
+     * weighted degree is 1 plus the weights of its professor and candidate
+     * rooms (see {@link ConflictWeights}), so the ordering learns which
+     * courses are hard beyond {@link Heuristics#calculateCourseDifficulty}.
+     */
+    DOM_WDEG
+}
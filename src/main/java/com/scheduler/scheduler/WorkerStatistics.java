@@ -0,0 +1,73 @@
+package com.scheduler.scheduler;
+
+/**
+ * Outcome of one search copy in a {@link PortfolioScheduler} run.
+ * Immutable value object.
+ */
+public final class WorkerStatistics {
+    private final int worker;
+    private final long seed;
+    private final boolean complete;
+    private final boolean winner;
+    private final int scheduledCourses;
+    private final long nodesExplored;
+    private final long executionTimeMillis;
+
+    public WorkerStatistics(
+        int worker,
+        long seed,
+        boolean complete,
+        boolean winner,
+        int scheduledCourses,
+        long nodesExplored,
+        long executionTimeMillis
+    ) {
+        this.worker = worker;
+        this.seed = seed;
+        this.complete = complete;
+        this.winner = winner;
+        this.scheduledCourses = scheduledCourses;
+        this.nodesExplored = nodesExplored;
+        this.executionTimeMillis = executionTimeMillis;
+    }
+
+    public int getWorker() {
+        return worker;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns true if the worker placed every course.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns true if the portfolio result is this worker's schedule.
+     */
+    public boolean isWinner() {
+        return winner;
+    }
+
+    public int getScheduledCourses() {
+        return scheduledCourses;
+    }
+
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    public long getExecutionTimeMillis() {
+        return executionTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Worker{index=%d, seed=%d, complete=%s, winner=%s, scheduled=%d, nodes=%d, time=%dms}",
+            worker, seed, complete, winner, scheduledCourses, nodesExplored, executionTimeMillis);
+    }
+}
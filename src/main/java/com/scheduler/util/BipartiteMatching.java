@@ -0,0 +1,161 @@
+package com.scheduler.util;
+
+import java.util.Arrays;
+
+/**
+ * Maximum matching of a bipartite graph by the Hopcroft-Karp algorithm, in
+ * O(E sqrt(V)) time. Left vertices are numbered by their row of the adjacency
+ * array, right vertices from 0 to {@code rightCount - 1}.
+ *
+ * <p>If the matching leaves some left vertex unmatched, {@link #deficientSet()}
+ * returns a set of left vertices with fewer neighbours than members, the
+ * witness Hall's theorem guarantees.
+ */
+public final class BipartiteMatching {
+
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
+    private final int[][] adjacency;
+    private final int[] leftMatch;
+    private final int[] rightMatch;
+    private final int[] distance;
+    private final int[] nextEdge;
+    private final int[] queue;
+    private int size;
+
+    private BipartiteMatching(int[][] adjacency, int rightCount) {
+        this.adjacency = adjacency;
+        this.leftMatch = new int[adjacency.length];
+        this.rightMatch = new int[rightCount];
+        this.distance = new int[adjacency.length];
+        this.nextEdge = new int[adjacency.length];
+        this.queue = new int[adjacency.length];
+        Arrays.fill(leftMatch, -1);
+        Arrays.fill(rightMatch, -1);
+    }
+
+    /**
+     * Computes a maximum matching.
+     *
+     * @param adjacency for each left vertex, the right vertices it may be matched to
+     */
+    public static BipartiteMatching maximum(int[][] adjacency, int rightCount) {
+        BipartiteMatching matching = new BipartiteMatching(adjacency, rightCount);
+        while (matching.layer()) {
+            Arrays.fill(matching.nextEdge, 0);
+            for (int left = 0; left < adjacency.length; left++) {
+                if (matching.leftMatch[left] < 0 && matching.augment(left)) {
+                    matching.size++;
+                }
+            }
+        }
+        return matching;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the right vertex matched to {@code left}, or -1.
+     */
+    public int rightOf(int left) {
+        return leftMatch[left];
+    }
+
+    /**
+     * Returns the left vertices reachable from unmatched left vertices along
+     * alternating paths. Their neighbours are all matched within the set, so
+     * the set has as many more members than neighbours as it has unmatched
+     * vertices; it is empty if every left vertex is matched.
+     */
+    public boolean[] deficientSet() {
+        boolean[] reached = new boolean[adjacency.length];
+        int head = 0;
+        int tail = 0;
+        for (int left = 0; left < adjacency.length; left++) {
+            if (leftMatch[left] < 0) {
+                reached[left] = true;
+                queue[tail++] = left;
+            }
+        }
+        while (head < tail) {
+            int left = queue[head++];
+            for (int right : adjacency[left]) {
+                int next = rightMatch[right];
+                if (next >= 0 && !reached[next]) {
+                    reached[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Layers the left vertices by alternating distance from the unmatched ones;
+     * returns true if some augmenting path exists.
+     */
+    private boolean layer() {
+        int head = 0;
+        int tail = 0;
+        for (int left = 0; left < adjacency.length; left++) {
+            if (leftMatch[left] < 0) {
+                distance[left] = 0;
+                queue[tail++] = left;
+            } else {
+                distance[left] = UNREACHED;
+            }
+        }
+        boolean found = false;
+        while (head < tail) {
+            int left = queue[head++];
+            for (int right : adjacency[left]) {
+                int next = rightMatch[right];
+                if (next < 0) {
+                    found = true;
+                } else if (distance[next] == UNREACHED) {
+                    distance[next] = distance[left] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Looks for an augmenting path from {@code root} along the layers, with an
+     * explicit stack, and flips it if found.
+     */
+    private boolean augment(int root) {
+        int[] path = queue;
+        int top = 0;
+        path[0] = root;
+        while (top >= 0) {
+            int left = path[top];
+            if (nextEdge[left] == adjacency[left].length) {
+                // Dead end: no later search in this phase needs to enter it again
+                distance[left] = UNREACHED;
+                top--;
+                continue;
+            }
+            int right = adjacency[left][nextEdge[left]];
+            int next = rightMatch[right];
+            if (next < 0) {
+                for (int i = top; i >= 0; i--) {
+                    int vertex = path[i];
+                    int matched = adjacency[vertex][nextEdge[vertex]];
+                    leftMatch[vertex] = matched;
+                    rightMatch[matched] = vertex;
+                }
+                return true;
+            }
+            if (distance[next] != UNREACHED && distance[next] == distance[left] + 1) {
+                path[++top] = next;
+            } else {
+                nextEdge[left]++;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,156 @@
+package com.scheduler.util;
+
+import java.util.Arrays;
+
+/**
+ * Static helpers for fixed-width bitsets stored as {@code long[]} words.
+ * Bits beyond the end of an array read as clear, so arrays of different
+ * lengths can be combined freely.
+ */
+public final class BitSets {
+
+    private BitSets() {
+    }
+
+    public static int wordCount(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    public static long[] create(int bits) {
+        return new long[wordCount(bits)];
+    }
+
+    /**
+     * Returns an array large enough to hold {@code bits} bits,
+     * reusing the given array when it is already big enough.
+     */
+    public static long[] ensureCapacity(long[] words, int bits) {
+        int needed = wordCount(bits);
+        if (words.length >= needed) {
+            return words;
+        }
+        return Arrays.copyOf(words, Math.max(needed, words.length * 2));
+    }
+
+    public static boolean get(long[] words, int bit) {
+        int word = bit >>> 6;
+        return word < words.length && (words[word] & (1L << bit)) != 0;
+    }
+
+    public static void set(long[] words, int bit) {
+        words[bit >>> 6] |= 1L << bit;
+    }
+
+    public static void clear(long[] words, int bit) {
+        int word = bit >>> 6;
+        if (word < words.length) {
+            words[word] &= ~(1L << bit);
+        }
+    }
+
+    public static boolean intersects(long[] a, long[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if every bit set in {@code subset} is also set in {@code words}.
+     */
+    public static boolean containsAll(long[] words, long[] subset) {
+        for (int i = 0; i < subset.length; i++) {
+            long word = i < words.length ? words[i] : 0L;
+            if ((subset[i] & ~word) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isEmpty(long[] words) {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static int cardinality(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the first set bit at or after {@code from},
+     * or -1 if there is none.
+     */
+    public static int nextSetBit(long[] words, int from) {
+        int word = from >>> 6;
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    /**
+     * Returns the index of the last set bit before {@code to},
+     * or -1 if there is none.
+     */
+    public static int previousSetBit(long[] words, int to) {
+        int last = to - 1;
+        int word = Math.min(last >> 6, words.length - 1);
+        if (word < 0) {
+            return -1;
+        }
+        long bits = words[word];
+        if (word == last >> 6) {
+            bits &= -1L >>> (63 - (last & 63));
+        }
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+            }
+            if (--word < 0) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    /**
+     * Sets in {@code target} every bit set in {@code source}.
+     */
+    public static void or(long[] target, long[] source) {
+        int length = Math.min(target.length, source.length);
+        for (int i = 0; i < length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    /**
+     * Clears in {@code target} every bit set in {@code source}.
+     */
+    public static void andNot(long[] target, long[] source) {
+        int length = Math.min(target.length, source.length);
+        for (int i = 0; i < length; i++) {
+            target[i] &= ~source[i];
+        }
+    }
+}
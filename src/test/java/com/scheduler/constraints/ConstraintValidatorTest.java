@@ -1,11 +1,13 @@
 package com.scheduler.constraints;
 
 import com.scheduler.domain.*;
+import com.scheduler.util.BitSets;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -227,4 +229,149 @@ class ConstraintValidatorTest {
         assertTrue(result.getAllMessages().stream()
             .anyMatch(msg -> msg.contains("not consecutive")));
     }
+
+    @Test
+    void shouldAgreeWithDetailedValidationOnFeasibility() {
+        Room smallRoom = Room.builder()
+            .id("R002")
+            .name("Small Room")
+            .capacity(20)
+            .addFeature("projector")
+            .build();
+        TimeSlot slot2 = TimeSlot.builder()
+            .slotIndex(2)
+            .dayOfWeek(DayOfWeek.MONDAY)
+            .startTime(LocalTime.of(10, 0))
+            .endTime(LocalTime.of(11, 0))
+            .build();
+        schedule.addAssignment(new CourseAssignment(
+            Course.builder().id("CS102").name("Data Structures").duration(1)
+                .expectedEnrollment(40).professorId("P001").build(),
+            smallRoom, List.of(slot2)));
+
+        TimeSlotUniverse universe = TimeSlotUniverse.of(List.of(timeSlot, slot2));
+
+        for (Room candidateRoom : List.of(room, smallRoom)) {
+            long[] mask = validator.staticSlotMask(course, candidateRoom, professor, universe);
+            for (List<TimeSlot> slots : List.of(List.of(timeSlot), List.of(slot2), List.of(timeSlot, slot2))) {
+                boolean inMask = slots.stream().allMatch(slot -> BitSets.get(mask, universe.ordinalOf(slot)));
+                boolean valid = validator.validateMultiSlot(course, candidateRoom, slots, professor, schedule).isValid();
+                assertEquals(valid, validator.isFeasible(course, candidateRoom, slots, professor, schedule),
+                    candidateRoom.getId() + " at " + slots);
+                assertEquals(valid,
+                    inMask && validator.isFeasibleOnSchedule(course, candidateRoom, slots, professor, schedule),
+                    candidateRoom.getId() + " at " + slots);
+            }
+        }
+    }
+
+    @Test
+    void shouldIgnoreSoftConstraintsInFeasibilityUnlessTreatedAsHard() {
+        TimeSlot preferred = TimeSlot.builder()
+            .slotIndex(5)
+            .dayOfWeek(DayOfWeek.FRIDAY)
+            .startTime(LocalTime.of(14, 0))
+            .endTime(LocalTime.of(15, 0))
+            .build();
+        Course picky = Course.builder()
+            .id("CS104")
+            .name("Seminar")
+            .duration(1)
+            .expectedEnrollment(20)
+            .professorId("P001")
+            .addPreferredTimeWindow(preferred)
+            .build();
+        List<Constraint> constraints = List.of(new PreferredTimeWindowConstraint());
+        TimeSlotUniverse universe = TimeSlotUniverse.of(List.of(timeSlot));
+
+        assertTrue(new ConstraintValidator(constraints, false)
+            .isFeasible(picky, room, timeSlot, professor, schedule));
+        assertFalse(new ConstraintValidator(constraints, true)
+            .isFeasible(picky, room, timeSlot, professor, schedule));
+        assertFalse(BitSets.isEmpty(new ConstraintValidator(constraints, false)
+            .staticSlotMask(picky, room, professor, universe)));
+        assertTrue(BitSets.isEmpty(new ConstraintValidator(constraints, true)
+            .staticSlotMask(picky, room, professor, universe)));
+    }
+
+    @Test
+    void shouldCompileInputOnlyChecksIntoStaticSlotMask() {
+        TimeSlot slot2 = TimeSlot.builder()
+            .slotIndex(2)
+            .dayOfWeek(DayOfWeek.MONDAY)
+            .startTime(LocalTime.of(10, 0))
+            .endTime(LocalTime.of(11, 0))
+            .build();
+        Professor busyProfessor = Professor.builder()
+            .id("P001")
+            .name("Dr. Smith")
+            .maxLoad(4)
+            .addUnavailableTimeSlot(slot2)
+            .build();
+        Room smallRoom = Room.builder()
+            .id("R002")
+            .name("Small Room")
+            .capacity(20)
+            .addFeature("projector")
+            .build();
+        TimeSlotUniverse universe = TimeSlotUniverse.of(List.of(timeSlot, slot2));
+
+        long[] mask = validator.staticSlotMask(course, room, busyProfessor, universe);
+        assertTrue(BitSets.get(mask, universe.ordinalOf(timeSlot)));
+        assertFalse(BitSets.get(mask, universe.ordinalOf(slot2)));
+        assertTrue(BitSets.isEmpty(validator.staticSlotMask(course, smallRoom, busyProfessor, universe)));
+    }
+
+    @Test
+    void shouldOnlyCheckScheduleDependentConstraintsOnSchedule() {
+        Room smallRoom = Room.builder()
+            .id("R002")
+            .name("Small Room")
+            .capacity(20)
+            .build();
+
+        // Capacity and features are static and left to the compiled tables
+        assertTrue(validator.isFeasibleOnSchedule(course, smallRoom, List.of(timeSlot), professor, schedule));
+
+        schedule.addAssignment(new CourseAssignment(
+            Course.builder().id("CS102").name("Data Structures").duration(1)
+                .expectedEnrollment(40).professorId("P002").build(),
+            room, List.of(timeSlot)));
+        assertFalse(validator.isFeasibleOnSchedule(course, room, List.of(timeSlot), professor, schedule));
+    }
+
+    @Test
+    void shouldCheckCustomStaticConstraintAgainstSharedEmptySchedule() {
+        List<Schedule> seen = new ArrayList<>();
+        Constraint noMornings = new Constraint() {
+            @Override
+            public ValidationResult validate(Course c, Room r, TimeSlot t, Professor p, Schedule s) {
+                seen.add(s);
+                return t.getStartTime().getHour() < 12
+                    ? ValidationResult.failure(getName(), "No mornings")
+                    : ValidationResult.success(getName());
+            }
+
+            @Override
+            public boolean isStatic() {
+                return true;
+            }
+
+            @Override
+            public String getName() {
+                return "No Mornings";
+            }
+
+            @Override
+            public boolean isHardConstraint() {
+                return true;
+            }
+        };
+
+        boolean allowed = timeSlot.getStartTime().getHour() >= 12;
+        assertEquals(allowed, noMornings.isSatisfiedByInput(course, room, timeSlot, professor));
+        assertEquals(allowed, noMornings.isSatisfiedByInput(course, room, timeSlot, professor));
+        assertSame(seen.get(0), seen.get(1));
+        assertTrue(seen.get(0).isEmpty());
+    }
 }
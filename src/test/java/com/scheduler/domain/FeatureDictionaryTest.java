@@ -0,0 +1,38 @@
+package com.scheduler.domain;
+
+import com.scheduler.util.BitSets;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureDictionaryTest {
+
+    @Test
+    void shouldAssignStableDenseIndices() {
+        FeatureDictionary dictionary = new FeatureDictionary();
+
+        assertEquals(0, dictionary.intern("projector"));
+        assertEquals(1, dictionary.intern("whiteboard"));
+        assertEquals(0, dictionary.intern("projector"));
+        assertEquals(-1, dictionary.indexOf("lab-equipment"));
+        assertEquals(1, dictionary.indexOf("whiteboard"));
+    }
+
+    @Test
+    void shouldConvertBetweenNamesAndMasks() {
+        FeatureDictionary dictionary = new FeatureDictionary();
+        for (int i = 0; i < 70; i++) {
+            dictionary.intern("feature-" + i);
+        }
+
+        long[] mask = dictionary.maskOf(List.of("feature-3", "feature-68"));
+
+        assertEquals(2, mask.length);
+        assertEquals(2, BitSets.cardinality(mask));
+        assertEquals(Set.of("feature-3", "feature-68"), dictionary.namesOf(mask));
+        assertEquals(0, dictionary.maskOf(Set.of()).length);
+    }
+}
@@ -0,0 +1,76 @@
+package com.scheduler.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomIndexTest {
+
+    @Test
+    void shouldListFittingRoomsTightestFirst() {
+        Room small = room("R001", 30);
+        Room large = room("R002", 100);
+        Room smallLab = room("R003", 30, "lab");
+        Room mediumLab = room("R004", 60, "lab", "projector");
+        RoomIndex index = RoomIndex.of(List.of(large, mediumLab, smallLab, small));
+
+        assertEquals(4, index.size());
+        assertEquals(3, index.groupCount());
+        assertEquals(List.of(small, smallLab, mediumLab, large), index.roomsFor(course(25)));
+        assertEquals(List.of(mediumLab, large), index.roomsFor(course(40)));
+        assertEquals(List.of(smallLab, mediumLab), index.roomsFor(course(25, "lab")));
+        assertEquals(List.of(), index.roomsFor(course(200)));
+    }
+
+    @Test
+    void shouldOnlyShuffleEquallyFittingRooms() {
+        Room first = room("R001", 30);
+        Room second = room("R002", 30);
+        Room third = room("R003", 30);
+        Room large = room("R004", 100);
+        RoomIndex index = RoomIndex.of(List.of(large, first, second, third));
+
+        List<Room> rooms = index.roomsFor(course(20), new Random(3));
+
+        assertEquals(Set.of(first, second, third), Set.copyOf(rooms.subList(0, 3)));
+        assertEquals(large, rooms.get(3));
+    }
+
+    @Test
+    void shouldKeepFeatureIndicesPerIndex() {
+        Room lab = room("R001", 30, "lab");
+        Room studio = room("R002", 30, "studio", "lab");
+        RoomIndex labs = RoomIndex.of(List.of(lab));
+        RoomIndex studios = RoomIndex.of(List.of(studio));
+
+        assertEquals(List.of(lab), labs.roomsFor(course(25, "lab")));
+        assertEquals(List.of(), labs.roomsFor(course(25, "studio")));
+        assertEquals(List.of(studio), studios.roomsFor(course(25, "lab")));
+        assertEquals(List.of(studio), studios.roomsFor(course(25, "studio", "lab")));
+        assertEquals(List.of(), studios.roomsFor(course(25, "studio", "projector")));
+    }
+
+    private static Room room(String id, int capacity, String... features) {
+        return Room.builder()
+            .id(id)
+            .name(id)
+            .capacity(capacity)
+            .features(Set.of(features))
+            .build();
+    }
+
+    private static Course course(int enrollment, String... features) {
+        return Course.builder()
+            .id("CS101")
+            .name("Introduction to Programming")
+            .duration(1)
+            .expectedEnrollment(enrollment)
+            .professorId("P001")
+            .requiredFeatures(Set.of(features))
+            .build();
+    }
+}
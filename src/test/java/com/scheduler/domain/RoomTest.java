@@ -73,6 +73,68 @@ class RoomTest {
         assertFalse(room.hasAllFeatures(Set.of("projector", "lab-equipment")));
     }
 
+    @Test
+    void shouldMatchCourseFeatureMask() {
+        FeatureDictionary dictionary = new FeatureDictionary();
+        Room room = Room.builder()
+            .id("R001")
+            .name("Lecture Hall A")
+            .capacity(100)
+            .features(Set.of("projector", "whiteboard"))
+            .featureDictionary(dictionary)
+            .build();
+        Course needsProjector = Course.builder()
+            .id("CS101")
+            .name("Introduction to Programming")
+            .duration(1)
+            .expectedEnrollment(30)
+            .professorId("P001")
+            .addRequiredFeature("projector")
+            .featureDictionary(dictionary)
+            .build();
+        Course needsLab = Course.builder()
+            .id("CS201")
+            .name("Data Structures")
+            .duration(1)
+            .expectedEnrollment(30)
+            .professorId("P001")
+            .requiredFeatures(Set.of("projector", "lab-equipment"))
+            .featureDictionary(dictionary)
+            .build();
+
+        assertTrue(room.sharesFeatureDictionary(needsProjector));
+        assertTrue(room.hasAllFeatures(needsProjector));
+        assertFalse(room.hasAllFeatures(needsLab));
+        assertFalse(room.hasAllFeatures(Set.of("lab-equipment")));
+        assertEquals(Set.of("projector", "lab-equipment"), dictionary.namesOf(needsLab.getRequiredFeatureMask()));
+    }
+
+    @Test
+    void shouldMatchCourseOfAnotherDictionaryByName() {
+        Room room = Room.builder()
+            .id("R001")
+            .name("Lecture Hall A")
+            .capacity(100)
+            .features(Set.of("projector", "whiteboard"))
+            .featureDictionary(new FeatureDictionary())
+            .build();
+        FeatureDictionary other = new FeatureDictionary();
+        other.intern("whiteboard");
+        Course needsProjector = Course.builder()
+            .id("CS101")
+            .name("Introduction to Programming")
+            .duration(1)
+            .expectedEnrollment(30)
+            .professorId("P001")
+            .addRequiredFeature("projector")
+            .featureDictionary(other)
+            .build();
+
+        assertFalse(room.sharesFeatureDictionary(needsProjector));
+        assertTrue(room.hasAllFeatures(needsProjector));
+        assertNull(Room.builder().id("R002").name("Room B").capacity(10).build().getFeatureMask());
+    }
+
     @Test
     void shouldCheckRoomAvailability() {
         TimeSlot unavailable = TimeSlot.builder()
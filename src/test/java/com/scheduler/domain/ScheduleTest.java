@@ -104,6 +104,27 @@ class ScheduleTest {
         assertFalse(schedule.getAssignment("CS101").isPresent());
     }
 
+    @Test
+    void shouldCountProfessorLoad() {
+        Course course3 = Course.builder()
+            .id("CS103")
+            .name("Algorithms")
+            .duration(1)
+            .expectedEnrollment(30)
+            .professorId("P001")
+            .build();
+        CourseAssignment first = new CourseAssignment(course1, room1, List.of(slot1));
+        schedule.addAssignment(first);
+        schedule.addAssignment(new CourseAssignment(course3, room1, List.of(slot2)));
+
+        assertEquals(2, schedule.getProfessorLoad("P001"));
+        assertEquals(0, schedule.getProfessorLoad("P002"));
+
+        schedule.removeAssignment(first);
+        schedule.removeAssignment(first);
+        assertEquals(1, schedule.getProfessorLoad("P001"));
+    }
+
     @Test
     void shouldGetAssignmentsForProfessor() {
         Course course3 = Course.builder()
@@ -163,6 +184,93 @@ class ScheduleTest {
         assertTrue(schedule.isRoomAvailableAt("R002", slot1));
     }
 
+    @Test
+    void shouldReleaseResourcesWhenAssignmentRemoved() {
+        CourseAssignment assignment = new CourseAssignment(course1, room1, List.of(slot1));
+        schedule.addAssignment(assignment);
+        schedule.removeAssignment(assignment);
+
+        assertTrue(schedule.isRoomAvailableAt("R001", slot1));
+        assertTrue(schedule.isProfessorAvailableAt("P001", slot1));
+    }
+
+    @Test
+    void shouldRestoreToMark() {
+        CourseAssignment kept = new CourseAssignment(course1, room1, List.of(slot1));
+        schedule.addAssignment(kept);
+        int mark = schedule.mark();
+        schedule.addAssignment(new CourseAssignment(course2, room2, List.of(slot2)));
+
+        schedule.restore(mark);
+
+        assertEquals(List.of(kept), schedule.getAssignments());
+        assertFalse(schedule.getAssignment("CS102").isPresent());
+        assertTrue(schedule.getAssignmentsForRoom("R002").isEmpty());
+        assertEquals(0, schedule.getProfessorLoad("P002"));
+        assertTrue(schedule.isRoomAvailableAt("R002", slot2));
+        assertTrue(schedule.isProfessorAvailableAt("P002", slot2));
+        assertFalse(schedule.isRoomAvailableAt("R001", slot1));
+    }
+
+    @Test
+    void shouldKeepSharedSlotOccupiedWhenRestoringDoubleBooking() {
+        schedule.addAssignment(new CourseAssignment(course1, room1, List.of(slot1)));
+        int mark = schedule.mark();
+        // Double-books room R001 at slot 1
+        schedule.addAssignment(new CourseAssignment(course2, room1, List.of(slot1)));
+
+        schedule.restore(mark);
+
+        assertFalse(schedule.isRoomAvailableAt("R001", slot1));
+        assertTrue(schedule.isProfessorAvailableAt("P002", slot1));
+        assertEquals(1, schedule.getAssignmentsForRoom("R001").size());
+    }
+
+    @Test
+    void shouldDetectPartiallyOverlappingSlots() {
+        TimeSlot longSlot = TimeSlot.builder()
+            .slotIndex(10)
+            .dayOfWeek(DayOfWeek.MONDAY)
+            .startTime(LocalTime.of(9, 30))
+            .endTime(LocalTime.of(11, 30))
+            .build();
+
+        schedule.addAssignment(new CourseAssignment(course1, room1, List.of(slot1)));
+
+        assertFalse(schedule.isRoomAvailableAt("R001", longSlot));
+        assertFalse(schedule.isProfessorAvailableAt("P001", longSlot));
+
+        schedule.addAssignment(new CourseAssignment(course2, room2, List.of(longSlot)));
+
+        assertFalse(schedule.isRoomAvailableAt("R002", slot2));
+        assertFalse(schedule.isProfessorAvailableAt("P002", slot1));
+    }
+
+    @Test
+    void shouldAnswerQueriesForSlotsOutsideTheUniverse() {
+        TimeSlot overlapping = TimeSlot.builder()
+            .slotIndex(10)
+            .dayOfWeek(DayOfWeek.MONDAY)
+            .startTime(LocalTime.of(9, 30))
+            .endTime(LocalTime.of(10, 30))
+            .build();
+        TimeSlot evening = TimeSlot.builder()
+            .slotIndex(11)
+            .dayOfWeek(DayOfWeek.MONDAY)
+            .startTime(LocalTime.of(18, 0))
+            .endTime(LocalTime.of(19, 0))
+            .build();
+        Schedule fixed = new Schedule(TimeSlotUniverse.of(List.of(slot1, slot2)));
+        fixed.addAssignment(new CourseAssignment(course1, room1, List.of(slot1)));
+        schedule.addAssignment(new CourseAssignment(course1, room1, List.of(slot1)));
+
+        assertFalse(fixed.isRoomAvailableAt("R001", overlapping));
+        assertFalse(fixed.isProfessorAvailableAt("P001", overlapping));
+        assertTrue(fixed.isRoomAvailableAt("R001", evening));
+        assertTrue(schedule.isRoomAvailableAt("R001", evening));
+        assertFalse(schedule.getTimeSlotUniverse().contains(evening));
+    }
+
     @Test
     void shouldReturnUnmodifiableAssignmentsList() {
         CourseAssignment assignment = new CourseAssignment(course1, room1, List.of(slot1));
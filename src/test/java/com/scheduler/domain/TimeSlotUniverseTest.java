@@ -0,0 +1,127 @@
+package com.scheduler.domain;
+
+import com.scheduler.util.BitSets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSlotUniverseTest {
+
+    private TimeSlot mondayNine;
+    private TimeSlot mondayTen;
+    private TimeSlot mondayOne;
+    private TimeSlot tuesdayNine;
+    private TimeSlotUniverse universe;
+
+    @BeforeEach
+    void setUp() {
+        mondayNine = slot(1, DayOfWeek.MONDAY, 9, 10);
+        mondayTen = slot(2, DayOfWeek.MONDAY, 10, 11);
+        mondayOne = slot(3, DayOfWeek.MONDAY, 13, 14);
+        tuesdayNine = slot(4, DayOfWeek.TUESDAY, 9, 10);
+
+        universe = TimeSlotUniverse.of(List.of(tuesdayNine, mondayOne, mondayTen, mondayNine));
+    }
+
+    @Test
+    void shouldAssignDenseOrdinalsInSlotOrder() {
+        assertEquals(4, universe.size());
+        assertEquals(0, universe.ordinalOf(mondayNine));
+        assertEquals(1, universe.ordinalOf(mondayTen));
+        assertEquals(2, universe.ordinalOf(mondayOne));
+        assertEquals(3, universe.ordinalOf(tuesdayNine));
+        assertEquals(mondayOne, universe.slotAt(2));
+    }
+
+    @Test
+    void shouldReturnMinusOneForUnknownSlot() {
+        assertEquals(-1, universe.ordinalOf(slot(9, DayOfWeek.FRIDAY, 9, 10)));
+    }
+
+    @Test
+    void shouldPrecomputeOverlaps() {
+        TimeSlot longSlot = slot(5, DayOfWeek.MONDAY, 9, 11);
+        TimeSlotUniverse withLongSlot = TimeSlotUniverse.of(List.of(mondayNine, mondayTen, longSlot));
+
+        int nine = withLongSlot.ordinalOf(mondayNine);
+        int ten = withLongSlot.ordinalOf(mondayTen);
+        int nineToEleven = withLongSlot.ordinalOf(longSlot);
+
+        assertTrue(withLongSlot.overlaps(nine, nine));
+        assertTrue(withLongSlot.overlaps(nine, nineToEleven));
+        assertTrue(withLongSlot.overlaps(nineToEleven, ten));
+        assertFalse(withLongSlot.overlaps(nine, ten));
+    }
+
+    @Test
+    void shouldPrecomputeConsecutiveSuccessors() {
+        assertEquals(1, universe.successorOf(0));
+        assertEquals(-1, universe.successorOf(1));
+        assertEquals(-1, universe.successorOf(2));
+        assertEquals(-1, universe.successorOf(3));
+    }
+
+    @Test
+    void shouldPrecomputeRunLengthsAndStarts() {
+        TimeSlot mondayEleven = slot(5, DayOfWeek.MONDAY, 11, 12);
+        TimeSlotUniverse withRun = TimeSlotUniverse.of(List.of(mondayNine, mondayTen, mondayEleven, tuesdayNine));
+
+        assertEquals(3, withRun.runLengthAt(0));
+        assertEquals(2, withRun.runLengthAt(1));
+        assertEquals(1, withRun.runLengthAt(2));
+        assertEquals(1, withRun.runLengthAt(3));
+
+        assertEquals(4, BitSets.cardinality(withRun.runStarts(1)));
+        long[] pairs = withRun.runStarts(2);
+        assertEquals(2, BitSets.cardinality(pairs));
+        assertTrue(BitSets.get(pairs, 0));
+        assertTrue(BitSets.get(pairs, 1));
+        assertEquals(0, BitSets.nextSetBit(withRun.runStarts(3), 0));
+        assertEquals(0, BitSets.cardinality(withRun.runStarts(4)));
+    }
+
+    @Test
+    void shouldBuildMaskOfSlots() {
+        long[] mask = universe.maskOf(List.of(mondayTen, tuesdayNine));
+
+        assertEquals(2, BitSets.cardinality(mask));
+        assertTrue(BitSets.get(mask, 1));
+        assertTrue(BitSets.get(mask, 3));
+    }
+
+    @Test
+    void shouldRejectUnknownSlotInFixedUniverseSchedule() {
+        Schedule schedule = new Schedule(universe);
+        Course course = Course.builder()
+            .id("CS101")
+            .name("Introduction to Programming")
+            .duration(1)
+            .expectedEnrollment(30)
+            .professorId("P001")
+            .build();
+        Room room = Room.builder()
+            .id("R001")
+            .name("Lecture Hall A")
+            .capacity(50)
+            .build();
+        CourseAssignment assignment = new CourseAssignment(
+            course, room, List.of(slot(9, DayOfWeek.FRIDAY, 9, 10)));
+
+        assertThrows(IllegalArgumentException.class, () -> schedule.addAssignment(assignment));
+        assertTrue(schedule.isEmpty());
+    }
+
+    private static TimeSlot slot(int index, DayOfWeek day, int startHour, int endHour) {
+        return TimeSlot.builder()
+            .slotIndex(index)
+            .dayOfWeek(day)
+            .startTime(LocalTime.of(startHour, 0))
+            .endTime(LocalTime.of(endHour, 0))
+            .build();
+    }
+}
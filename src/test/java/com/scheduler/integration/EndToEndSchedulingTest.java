@@ -35,12 +35,14 @@ class EndToEndSchedulingTest {
         ProfessorParser professorParser = new ProfessorParser(timeSlotMap);
         List<Professor> professors = professorParser.parse(professorsFile);
 
+        FeatureDictionary featureDictionary = new FeatureDictionary();
+
         Path roomsFile = tempDir.resolve("rooms.csv");
-        RoomParser roomParser = new RoomParser(timeSlotMap);
+        RoomParser roomParser = new RoomParser(timeSlotMap, featureDictionary);
         List<Room> rooms = roomParser.parse(roomsFile);
 
         Path coursesFile = tempDir.resolve("courses.csv");
-        CourseParser courseParser = new CourseParser(timeSlotMap);
+        CourseParser courseParser = new CourseParser(timeSlotMap, featureDictionary);
         List<Course> courses = courseParser.parse(coursesFile);
 
         // Schedule courses
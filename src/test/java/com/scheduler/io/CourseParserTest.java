@@ -1,6 +1,7 @@
 package com.scheduler.io;
 
 import com.scheduler.domain.Course;
+import com.scheduler.domain.FeatureDictionary;
 import com.scheduler.domain.TimeSlot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,7 @@ import java.time.LocalTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -105,4 +107,21 @@ class CourseParserTest {
         assertEquals(1, courses.size());
         assertTrue(courses.get(0).getRequiredFeatures().isEmpty());
     }
+
+    @Test
+    void shouldInternFeaturesIntoGivenDictionary() throws IOException, ParseException {
+        Path file = tempDir.resolve("courses.csv");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file.toFile()))) {
+            writer.write("courseId,name,duration,expectedEnrollment,professorId,requiredFeatures,preferredSlots\n");
+            writer.write("CS101,Introduction to Programming,2,50,P001,projector;computers,\n");
+            writer.write("CS102,Data Structures,1,40,P002,projector,\n");
+        }
+        FeatureDictionary dictionary = new FeatureDictionary();
+
+        List<Course> courses = new CourseParser(timeSlotMap, dictionary).parse(file);
+
+        assertSame(dictionary, courses.get(1).getFeatureDictionary());
+        assertEquals(Set.of("projector", "computers"), dictionary.namesOf(courses.get(0).getRequiredFeatureMask()));
+        assertEquals(Set.of("projector"), dictionary.namesOf(courses.get(1).getRequiredFeatureMask()));
+    }
 }
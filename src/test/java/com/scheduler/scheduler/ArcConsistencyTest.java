@@ -0,0 +1,79 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.domain.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.scheduler.scheduler.SchedulerFixtures.course;
+import static com.scheduler.scheduler.SchedulerFixtures.slot;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArcConsistencyTest {
+
+    private final List<TimeSlot> timeSlots = List.of(slot(1, 9), slot(2, 10), slot(3, 11));
+    private final List<Room> rooms = List.of(
+        Room.builder().id("R001").name("Lecture Hall A").capacity(50).build(),
+        Room.builder().id("R002").name("Lecture Hall B").capacity(50).build());
+
+    @Test
+    void shouldRejectClashingCoursesBeforeFirstDecision() {
+        // Dr. Jones can only teach at 10:00, so CS201 and CS202 cannot both be placed
+        List<Professor> professors = List.of(
+            Professor.builder().id("P001").name("Dr. Smith").maxLoad(3).build(),
+            Professor.builder().id("P002").name("Dr. Jones").maxLoad(3)
+                .addUnavailableTimeSlot(timeSlots.get(0))
+                .addUnavailableTimeSlot(timeSlots.get(2))
+                .build());
+        List<Course> courses = List.of(
+            course("CS101", "P001", 40),
+            course("CS201", "P002", 20),
+            course("CS202", "P002", 20));
+
+        ScheduleResult forwardChecking = new BacktrackingScheduler(config(ConsistencyLevel.FORWARD_CHECKING))
+            .schedule(courses, professors, rooms, timeSlots);
+        ScheduleResult arcConsistency = new BacktrackingScheduler(config(ConsistencyLevel.ARC_CONSISTENCY))
+            .schedule(courses, professors, rooms, timeSlots);
+
+        assertFalse(forwardChecking.isSuccess());
+        assertFalse(arcConsistency.isSuccess());
+        assertTrue(forwardChecking.getNodesExplored() > 0);
+        assertEquals(0, arcConsistency.getNodesExplored());
+        assertTrue(arcConsistency.getMessages().contains("No complete schedule exists for the 3 schedulable " +
+            "courses; keeping the best partial schedule"));
+    }
+
+    @Test
+    void shouldFindSameScheduleAsForwardChecking() {
+        List<Professor> professors = List.of(
+            Professor.builder().id("P001").name("Dr. Smith").maxLoad(3).build(),
+            Professor.builder().id("P002").name("Dr. Jones").maxLoad(3).build());
+        List<Course> courses = List.of(
+            course("CS101", "P001", 40),
+            course("CS102", "P001", 30),
+            course("CS103", "P001", 30),
+            course("CS201", "P002", 20),
+            course("CS202", "P002", 20),
+            course("CS203", "P002", 20));
+
+        for (BacktrackStrategy strategy : BacktrackStrategy.values()) {
+            ScheduleResult forwardChecking = new BacktrackingScheduler(config(ConsistencyLevel.FORWARD_CHECKING)
+                .toBuilder().backtrackStrategy(strategy).build())
+                .schedule(courses, professors, rooms, timeSlots);
+            ScheduleResult arcConsistency = new BacktrackingScheduler(config(ConsistencyLevel.ARC_CONSISTENCY)
+                .toBuilder().backtrackStrategy(strategy).build())
+                .schedule(courses, professors, rooms, timeSlots);
+
+            assertTrue(arcConsistency.isSuccess());
+            assertEquals(forwardChecking.getSchedule().getAssignments(),
+                arcConsistency.getSchedule().getAssignments());
+        }
+    }
+
+    private static SchedulerConfig config(ConsistencyLevel level) {
+        return SchedulerConfig.builder()
+            .seed(42)
+            .consistencyLevel(level)
+            .build();
+    }
+}
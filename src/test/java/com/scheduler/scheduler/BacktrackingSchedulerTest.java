@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 
 import java.time.DayOfWeek;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -212,4 +213,452 @@ class BacktrackingSchedulerTest {
 
         assertTrue(result.getExecutionTimeMillis() >= 0);
     }
+
+    @Test
+    void shouldScheduleAllCoursesWithForwardChecking() {
+        BacktrackingScheduler forwardChecking = new BacktrackingScheduler(
+            configWith(ConsistencyLevel.FORWARD_CHECKING));
+
+        ScheduleResult result = forwardChecking.schedule(courses, professors, rooms, timeSlots);
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getSchedule().getScheduledCoursesCount());
+        assertTrue(result.getUnscheduledCourses().isEmpty());
+    }
+
+    @Test
+    void shouldBacktrackOutOfDeadEndWithForwardChecking() {
+        // The large single-slot course is placed first and grabs Monday 9:00,
+        // which is the start of the only two-slot run the lab course can use
+        List<Course> competing = List.of(
+            Course.builder()
+                .id("CS201")
+                .name("Large Lecture")
+                .duration(1)
+                .expectedEnrollment(80)
+                .professorId("P001")
+                .build(),
+            Course.builder()
+                .id("CS202")
+                .name("Double Lab")
+                .duration(2)
+                .expectedEnrollment(40)
+                .professorId("P002")
+                .build()
+        );
+        List<Room> singleRoom = List.of(rooms.get(0));
+
+        ScheduleResult generateAndTest = new BacktrackingScheduler(configWith(ConsistencyLevel.NONE))
+            .schedule(competing, professors, singleRoom, timeSlots);
+        ScheduleResult forwardChecking = new BacktrackingScheduler(
+            configWith(ConsistencyLevel.FORWARD_CHECKING))
+            .schedule(competing, professors, singleRoom, timeSlots);
+
+        assertEquals(List.of("CS202"), generateAndTest.getUnscheduledCourses());
+        assertTrue(forwardChecking.isSuccess());
+        assertEquals(2, forwardChecking.getSchedule().getScheduledCoursesCount());
+    }
+
+    @Test
+    void shouldKeepBestPartialScheduleWhenForwardCheckingExhausts() {
+        List<Course> sameProfessor = List.of(
+            Course.builder()
+                .id("CS101")
+                .name("Course 1")
+                .duration(1)
+                .expectedEnrollment(50)
+                .professorId("P001")
+                .build(),
+            Course.builder()
+                .id("CS102")
+                .name("Course 2")
+                .duration(1)
+                .expectedEnrollment(40)
+                .professorId("P001")
+                .build()
+        );
+
+        ScheduleResult result = new BacktrackingScheduler(configWith(ConsistencyLevel.FORWARD_CHECKING))
+            .schedule(sameProfessor, professors, rooms, List.of(timeSlots.get(0)));
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, result.getSchedule().getScheduledCoursesCount());
+        assertEquals(List.of("CS102"), result.getUnscheduledCourses());
+    }
+
+    @Test
+    void shouldPlaceMostConstrainedCourseFirstWithMrvOrdering() {
+        // CS302 can only use Monday 9:00, which static ordering gives to CS301 first
+        Professor restricted = Professor.builder()
+            .id("P002")
+            .name("Dr. Jones")
+            .addUnavailableTimeSlot(timeSlots.get(1))
+            .addUnavailableTimeSlot(timeSlots.get(2))
+            .build();
+        List<Course> competing = List.of(
+            Course.builder()
+                .id("CS301")
+                .name("Flexible Lecture")
+                .duration(1)
+                .expectedEnrollment(80)
+                .professorId("P001")
+                .build(),
+            Course.builder()
+                .id("CS302")
+                .name("Restricted Seminar")
+                .duration(1)
+                .expectedEnrollment(40)
+                .professorId("P002")
+                .build()
+        );
+        List<Professor> profs = List.of(professors.get(0), restricted);
+        List<Room> singleRoom = List.of(rooms.get(0));
+
+        ScheduleResult staticOrder = new BacktrackingScheduler(
+            configWith(ConsistencyLevel.FORWARD_CHECKING))
+            .schedule(competing, profs, singleRoom, timeSlots);
+        ScheduleResult mrv = new BacktrackingScheduler(SchedulerConfig.builder()
+            .timeoutMillis(10000)
+            .variableOrdering(VariableOrdering.MRV_DEGREE)
+            .build())
+            .schedule(competing, profs, singleRoom, timeSlots);
+
+        assertTrue(staticOrder.isSuccess());
+        assertTrue(mrv.isSuccess());
+        assertEquals(2, mrv.getSchedule().getScheduledCoursesCount());
+        assertTrue(mrv.getNodesExplored() < staticOrder.getNodesExplored());
+    }
+
+    @Test
+    void shouldProduceSameScheduleWithIterativeEngine() {
+        ScheduleResult recursive = scheduler.schedule(courses, professors, rooms, timeSlots);
+        ScheduleResult iterative = new BacktrackingScheduler(SchedulerConfig.builder()
+            .timeoutMillis(10000)
+            .engine(BacktrackingEngine.ITERATIVE)
+            .build())
+            .schedule(courses, professors, rooms, timeSlots);
+
+        assertTrue(iterative.isSuccess());
+        assertEquals(
+            recursive.getSchedule().getAssignments(),
+            iterative.getSchedule().getAssignments());
+    }
+
+    @Test
+    void shouldNotDependOnJavaStackDepthWithIterativeEngine() {
+        List<Course> manyCourses = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            manyCourses.add(Course.builder()
+                .id("X" + i)
+                .name("Orphan " + i)
+                .duration(1)
+                .expectedEnrollment(10)
+                .professorId("UNKNOWN")
+                .build());
+        }
+
+        ScheduleResult result = new BacktrackingScheduler(SchedulerConfig.builder()
+            .timeoutMillis(10000)
+            .maxIterations(100_000)
+            .engine(BacktrackingEngine.ITERATIVE)
+            .build())
+            .schedule(manyCourses, professors, rooms, timeSlots);
+
+        assertTrue(result.isSuccess());
+        assertEquals(50_000, result.getUnscheduledCourses().size());
+    }
+
+    @Test
+    void shouldBacktrackAcrossSplitSubtrees() {
+        List<Course> competing = List.of(
+            Course.builder()
+                .id("CS201")
+                .name("Large Lecture")
+                .duration(1)
+                .expectedEnrollment(80)
+                .professorId("P001")
+                .build(),
+            Course.builder()
+                .id("CS202")
+                .name("Double Lab")
+                .duration(2)
+                .expectedEnrollment(40)
+                .professorId("P002")
+                .build()
+        );
+
+        ScheduleResult result = new BacktrackingScheduler(splitConfig(1))
+            .schedule(competing, professors, List.of(rooms.get(0)), timeSlots);
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getSchedule().getScheduledCoursesCount());
+    }
+
+    @Test
+    void shouldKeepBestPartialScheduleWhenSplitSearchExhausts() {
+        List<Course> sameProfessor = List.of(
+            Course.builder()
+                .id("CS101")
+                .name("Course 1")
+                .duration(1)
+                .expectedEnrollment(50)
+                .professorId("P001")
+                .build(),
+            Course.builder()
+                .id("CS102")
+                .name("Course 2")
+                .duration(1)
+                .expectedEnrollment(40)
+                .professorId("P001")
+                .build(),
+            Course.builder()
+                .id("CS103")
+                .name("Course 3")
+                .duration(1)
+                .expectedEnrollment(30)
+                .professorId("P001")
+                .build()
+        );
+
+        ScheduleResult result = new BacktrackingScheduler(splitConfig(2))
+            .schedule(sameProfessor, professors, rooms, timeSlots.subList(0, 2));
+
+        assertFalse(result.isSuccess());
+        assertEquals(2, result.getSchedule().getScheduledCoursesCount());
+        assertEquals(List.of("CS103"), result.getUnscheduledCourses());
+        assertTrue(result.getMessages().stream().anyMatch(m -> m.startsWith("No complete schedule exists")));
+    }
+
+    @Test
+    void shouldJumpOverUnrelatedCoursesWithConflictDirectedBackjumping() {
+        // Three lectures fill the hall; four labs of one professor cannot fit into
+        // three slots, and no lecture is to blame for that
+        List<Room> separateRooms = List.of(
+            Room.builder().id("R001").name("Hall").capacity(100).build(),
+            Room.builder().id("L001").name("Lab").capacity(30).addFeature("lab").build()
+        );
+        List<Professor> lecturers = new ArrayList<>(professors);
+        List<Course> problem = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            lecturers.add(Professor.builder().id("P10" + i).name("Lecturer " + i).build());
+            problem.add(Course.builder()
+                .id("LEC" + i)
+                .name("Lecture " + i)
+                .duration(1)
+                .expectedEnrollment(90)
+                .professorId("P10" + i)
+                .build());
+        }
+        for (int i = 1; i <= 4; i++) {
+            problem.add(Course.builder()
+                .id("LAB" + i)
+                .name("Lab " + i)
+                .duration(1)
+                .expectedEnrollment(20)
+                .professorId("P001")
+                .addRequiredFeature("lab")
+                .build());
+        }
+
+        ScheduleResult chronological = new BacktrackingScheduler(configWith(ConsistencyLevel.FORWARD_CHECKING))
+            .schedule(problem, lecturers, separateRooms, timeSlots);
+        ScheduleResult backjumping = new BacktrackingScheduler(
+            configWith(ConsistencyLevel.FORWARD_CHECKING).toBuilder()
+                .backtrackStrategy(BacktrackStrategy.CONFLICT_DIRECTED)
+                .build())
+            .schedule(problem, lecturers, separateRooms, timeSlots);
+
+        assertFalse(backjumping.isSuccess());
+        assertEquals(6, backjumping.getSchedule().getScheduledCoursesCount());
+        assertEquals(
+            chronological.getSchedule().getScheduledCoursesCount(),
+            backjumping.getSchedule().getScheduledCoursesCount());
+        assertTrue(backjumping.getNodesExplored() < chronological.getNodesExplored());
+    }
+
+    @Test
+    void shouldBacktrackOutOfDeadEndWithConflictDirectedBackjumping() {
+        List<Course> competing = List.of(
+            Course.builder()
+                .id("CS201")
+                .name("Large Lecture")
+                .duration(1)
+                .expectedEnrollment(80)
+                .professorId("P001")
+                .build(),
+            Course.builder()
+                .id("CS202")
+                .name("Double Lab")
+                .duration(2)
+                .expectedEnrollment(40)
+                .professorId("P002")
+                .build()
+        );
+
+        ScheduleResult result = new BacktrackingScheduler(SchedulerConfig.builder()
+            .timeoutMillis(10000)
+            .backtrackStrategy(BacktrackStrategy.CONFLICT_DIRECTED)
+            .build())
+            .schedule(competing, professors, List.of(rooms.get(0)), timeSlots);
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getSchedule().getScheduledCoursesCount());
+    }
+
+    @Test
+    void shouldScheduleLargeInputDeterministicallyWithParallelCandidateTables() {
+        List<Course> manyCourses = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            manyCourses.add(Course.builder()
+                .id("C" + i)
+                .name("Course " + i)
+                .duration(1 + i % 2)
+                .expectedEnrollment(10 + i % 60)
+                .professorId(i % 2 == 0 ? "P001" : "P002")
+                .build());
+        }
+
+        ScheduleResult first = scheduler.schedule(manyCourses, professors, rooms, timeSlots);
+        ScheduleResult second = scheduler.schedule(manyCourses, professors, rooms, timeSlots);
+
+        assertEquals(first.getSchedule().getAssignments(), second.getSchedule().getAssignments());
+        assertEquals(first.getUnscheduledCourses(), second.getUnscheduledCourses());
+        assertEquals(300, first.getSchedule().getScheduledCoursesCount() + first.getUnscheduledCourses().size());
+    }
+
+    @Test
+    void shouldNotExceedProfessorMaxLoad() {
+        List<Professor> busyProfessors = List.of(
+            Professor.builder().id("P001").name("Dr. Smith").maxLoad(1).build(),
+            professors.get(1));
+        List<Course> twoForSmith = List.of(
+            courses.get(0),
+            Course.builder()
+                .id("CS103")
+                .name("Algorithms")
+                .duration(1)
+                .expectedEnrollment(30)
+                .professorId("P001")
+                .build());
+
+        ScheduleResult result = scheduler.schedule(twoForSmith, busyProfessors, rooms, timeSlots);
+
+        assertEquals(1, result.getSchedule().getProfessorLoad("P001"));
+        assertEquals(1, result.getUnscheduledCourses().size());
+        assertTrue(result.getMessages().stream().anyMatch(message -> message.contains("max load")));
+    }
+
+    @Test
+    void shouldLeaveOutCourseThatBlocksOthersWhenProfessorHasExcessCourses() {
+        // Either two-slot course blocks the other's only run; Dr. Smith may
+        // teach just one course, so the complete search leaves out the lab
+        List<Professor> busyProfessors = List.of(
+            Professor.builder().id("P001").name("Dr. Smith").maxLoad(1).build(),
+            professors.get(1));
+        List<Course> competing = List.of(
+            Course.builder().id("CS201").name("Smith Lab").duration(2)
+                .expectedEnrollment(40).professorId("P001").build(),
+            Course.builder().id("CS202").name("Jones Lab").duration(2)
+                .expectedEnrollment(40).professorId("P002").build(),
+            Course.builder().id("CS203").name("Smith Seminar").duration(1)
+                .expectedEnrollment(20).professorId("P001").build());
+        List<Room> singleRoom = List.of(rooms.get(0));
+
+        for (BacktrackStrategy strategy : BacktrackStrategy.values()) {
+            SchedulerConfig config = configWith(ConsistencyLevel.FORWARD_CHECKING).toBuilder()
+                .variableOrdering(VariableOrdering.MRV_DEGREE)
+                .backtrackStrategy(strategy)
+                .build();
+            ScheduleResult result = new BacktrackingScheduler(config)
+                .schedule(competing, busyProfessors, singleRoom, timeSlots);
+
+            assertTrue(result.isSuccess(), strategy.name());
+            assertEquals(List.of("CS201"), result.getUnscheduledCourses(), strategy.name());
+            assertTrue(result.getSchedule().getAssignment("CS202").isPresent(), strategy.name());
+        }
+    }
+
+    @Test
+    void shouldSearchOnlyOneOfSeveralIdenticalEmptyRooms() {
+        // Dr. Jones can only teach at Monday 9:00, so CS202 and CS203 clash in
+        // every room and the whole tree has to be searched
+        List<Professor> restricted = List.of(
+            professors.get(0),
+            Professor.builder().id("P002").name("Dr. Jones").maxLoad(4)
+                .addUnavailableTimeSlot(timeSlots.get(1))
+                .addUnavailableTimeSlot(timeSlots.get(2))
+                .build());
+        List<Course> clashing = List.of(
+            Course.builder().id("CS201").name("Lecture").duration(1)
+                .expectedEnrollment(30).professorId("P001").build(),
+            Course.builder().id("CS202").name("Seminar 1").duration(1)
+                .expectedEnrollment(20).professorId("P002").build(),
+            Course.builder().id("CS203").name("Seminar 2").duration(1)
+                .expectedEnrollment(20).professorId("P002").build());
+        List<Room> classrooms = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            classrooms.add(Room.builder().id("R10" + i).name("Classroom " + i).capacity(40).build());
+        }
+
+        ScheduleResult plain = new BacktrackingScheduler(configWith(ConsistencyLevel.FORWARD_CHECKING))
+            .schedule(clashing, restricted, classrooms, timeSlots);
+        ScheduleResult symmetric = new BacktrackingScheduler(configWith(ConsistencyLevel.FORWARD_CHECKING)
+            .toBuilder().symmetryBreaking(true).build())
+            .schedule(clashing, restricted, classrooms, timeSlots);
+
+        assertFalse(plain.isSuccess());
+        assertFalse(symmetric.isSuccess());
+        assertEquals(plain.getSchedule().getScheduledCoursesCount(),
+            symmetric.getSchedule().getScheduledCoursesCount());
+        assertTrue(symmetric.getNodesExplored() * 2 < plain.getNodesExplored(),
+            symmetric.getNodesExplored() + " vs " + plain.getNodesExplored());
+    }
+
+    @Test
+    void shouldStillUseEveryIdenticalRoomWithSymmetryBreaking() {
+        List<Professor> threeProfessors = List.of(
+            professors.get(0),
+            professors.get(1),
+            Professor.builder().id("P003").name("Dr. Brown").maxLoad(4).build());
+        List<Course> simultaneous = List.of(
+            Course.builder().id("CS201").name("Course 1").duration(1)
+                .expectedEnrollment(30).professorId("P001").build(),
+            Course.builder().id("CS202").name("Course 2").duration(1)
+                .expectedEnrollment(30).professorId("P002").build(),
+            Course.builder().id("CS203").name("Course 3").duration(1)
+                .expectedEnrollment(30).professorId("P003").build());
+        List<Room> classrooms = List.of(
+            Room.builder().id("R101").name("Classroom 1").capacity(40).build(),
+            Room.builder().id("R102").name("Classroom 2").capacity(40).build(),
+            Room.builder().id("R103").name("Classroom 3").capacity(40).build());
+
+        for (BacktrackStrategy strategy : BacktrackStrategy.values()) {
+            SchedulerConfig config = configWith(ConsistencyLevel.FORWARD_CHECKING).toBuilder()
+                .backtrackStrategy(strategy)
+                .symmetryBreaking(true)
+                .build();
+            ScheduleResult result = new BacktrackingScheduler(config)
+                .schedule(simultaneous, threeProfessors, classrooms, List.of(timeSlots.get(0)));
+
+            assertTrue(result.isSuccess(), strategy.name());
+            assertEquals(3, result.getSchedule().getScheduledCoursesCount(), strategy.name());
+        }
+    }
+
+    private static SchedulerConfig splitConfig(int splitDepth) {
+        return SchedulerConfig.builder()
+            .timeoutMillis(10000)
+            .consistencyLevel(ConsistencyLevel.FORWARD_CHECKING)
+            .workers(4)
+            .splitDepth(splitDepth)
+            .build();
+    }
+
+    private static SchedulerConfig configWith(ConsistencyLevel consistencyLevel) {
+        return SchedulerConfig.builder()
+            .timeoutMillis(10000)
+            .seed(42)
+            .consistencyLevel(consistencyLevel)
+            .build();
+    }
 }
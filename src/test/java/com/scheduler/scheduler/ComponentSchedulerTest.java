@@ -0,0 +1,105 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.scheduler.scheduler.SchedulerFixtures.course;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComponentSchedulerTest {
+
+    private List<Professor> professors;
+    private List<Room> rooms;
+    private List<TimeSlot> timeSlots;
+
+    @BeforeEach
+    void setUp() {
+        timeSlots = new ArrayList<>();
+        for (int hour = 9; hour < 12; hour++) {
+            timeSlots.add(TimeSlot.builder()
+                .slotIndex(hour - 8)
+                .dayOfWeek(DayOfWeek.MONDAY)
+                .startTime(LocalTime.of(hour, 0))
+                .endTime(LocalTime.of(hour + 1, 0))
+                .build());
+        }
+
+        professors = new ArrayList<>();
+        for (int p = 1; p <= 4; p++) {
+            professors.add(Professor.builder()
+                .id("P00" + p)
+                .name("Professor " + p)
+                .maxLoad(3)
+                .build());
+        }
+
+        rooms = List.of(
+            Room.builder().id("R001").name("Chemistry Lab").capacity(30).addFeature("fume-hood").build(),
+            Room.builder().id("R002").name("Music Room").capacity(30).addFeature("piano").build(),
+            Room.builder().id("R003").name("Seminar Room").capacity(20).addFeature("seminar").build()
+        );
+    }
+
+    @Test
+    void shouldSplitCoursesSharingNeitherProfessorNorRoom() {
+        Course chemistry = course("CH101", "P001", 1, 15, "fume-hood");
+        Course chemistryLab = course("CH201", "P002", 1, 15, "fume-hood");
+        Course music = course("MU101", "P003", 1, 15, "piano");
+        Course seminar = course("MU201", "P003", 1, 15, "seminar");
+        Course unknownRoom = course("XX101", "P004", 1, 15, "telescope");
+
+        List<List<Course>> components = ComponentScheduler.components(
+            List.of(chemistry, music, chemistryLab, unknownRoom, seminar), RoomIndex.of(rooms));
+
+        assertEquals(List.of(
+            List.of(chemistry, chemistryLab),
+            List.of(music, seminar),
+            List.of(unknownRoom)), components);
+    }
+
+    @Test
+    void shouldMergeComponentSchedules() {
+        List<Course> courses = List.of(
+            course("CH101", "P001", 1, 15, "fume-hood"),
+            course("CH201", "P002", 1, 15, "fume-hood"),
+            course("MU101", "P003", 1, 15, "piano"),
+            course("MU201", "P003", 1, 15, "piano"),
+            course("SE101", "P004", 1, 15, "seminar"));
+        SchedulerConfig config = SchedulerConfig.builder().seed(42).workers(2).build();
+
+        ScheduleResult result = new ComponentScheduler(config, componentConfig -> new BacktrackingScheduler(componentConfig))
+            .schedule(courses, professors, rooms, timeSlots);
+
+        assertTrue(result.isSuccess());
+        assertEquals(courses.size(), result.getSchedule().getScheduledCoursesCount());
+        assertTrue(result.getMessages().contains("Decomposed 5 courses into 3 independent components"));
+    }
+
+    @Test
+    void shouldShareIterationBudgetAndWorkersAmongComponents() {
+        List<Course> courses = List.of(
+            course("CH101", "P001", 1, 15, "fume-hood"),
+            course("CH201", "P002", 1, 15, "fume-hood"),
+            course("MU101", "P003", 1, 15, "piano"),
+            course("SE101", "P004", 1, 15, "seminar"));
+        SchedulerConfig config = SchedulerConfig.builder().seed(42).workers(4).maxIterations(1000).build();
+        List<SchedulerConfig> delegated = Collections.synchronizedList(new ArrayList<>());
+
+        ScheduleResult result = new ComponentScheduler(config, componentConfig -> {
+            delegated.add(componentConfig);
+            return new BacktrackingScheduler(componentConfig);
+        }).schedule(courses, professors, rooms, timeSlots);
+
+        assertTrue(result.isSuccess());
+        assertEquals(3, delegated.size());
+        assertEquals(1000, delegated.stream().mapToInt(SchedulerConfig::getMaxIterations).sum());
+        assertTrue(delegated.stream().allMatch(componentConfig -> componentConfig.getWorkers() == 1));
+    }
+}
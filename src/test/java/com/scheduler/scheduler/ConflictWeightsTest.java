@@ -0,0 +1,72 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.scheduler.scheduler.SchedulerFixtures.course;
+import static com.scheduler.scheduler.SchedulerFixtures.slot;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictWeightsTest {
+
+    private List<TimeSlot> timeSlots;
+    private List<Professor> professors;
+    private List<Room> rooms;
+    private List<Course> courses;
+
+    @BeforeEach
+    void setUp() {
+        TimeSlot nine = slot(1, 9);
+        TimeSlot ten = slot(2, 10);
+        TimeSlot eleven = slot(3, 11);
+        timeSlots = List.of(nine, ten, eleven);
+        professors = List.of(
+            Professor.builder().id("P001").name("Dr. Smith").maxLoad(2).build(),
+            Professor.builder().id("P002").name("Dr. Jones").maxLoad(1)
+                .addUnavailableTimeSlot(ten).addUnavailableTimeSlot(eleven).build());
+        rooms = List.of(
+            Room.builder().id("R001").name("Lecture Hall A").capacity(50).build(),
+            Room.builder().id("R002").name("Seminar Room").capacity(20).build());
+        courses = List.of(
+            course("CS101", "P001", 45),
+            course("CS102", "P001", 15),
+            course("CS103", "P002", 40));
+    }
+
+    @Test
+    void shouldSumProfessorAndRoomWeightsIntoWeightedDegree() {
+        SearchModel model = SearchModel.build(courses, professors, rooms, TimeSlotUniverse.of(timeSlots),
+            ConstraintValidator.withDefaultConstraints(), null);
+        ConflictWeights weights = new ConflictWeights(model);
+        int[] order = {0, 1, 2};
+
+        assertArrayEquals(new int[] {1, 1, 1}, weights.weightedDegrees(model, order, 3));
+
+        weights.professorFailed(0);
+        weights.roomFailed(1);
+        weights.roomFailed(1);
+
+        // CS102 fits both rooms, CS101 and CS103 only the lecture hall
+        assertArrayEquals(new int[] {2, 4, 1}, weights.weightedDegrees(model, order, 3));
+        assertArrayEquals(new int[] {2, 0, 0}, weights.weightedDegrees(model, order, 1));
+    }
+
+    @Test
+    void shouldScheduleWithConflictWeightedOrdering() {
+        SchedulerConfig config = SchedulerConfig.builder()
+            .seed(42)
+            .variableOrdering(VariableOrdering.DOM_WDEG)
+            .build();
+
+        ScheduleResult result = new BacktrackingScheduler(config).schedule(courses, professors, rooms, timeSlots);
+
+        assertTrue(result.isSuccess());
+        assertEquals(3, result.getSchedule().getScheduledCoursesCount());
+        assertEquals(List.of(timeSlots.get(0)),
+            result.getSchedule().getAssignment("CS103").orElseThrow().getTimeSlots());
+    }
+}
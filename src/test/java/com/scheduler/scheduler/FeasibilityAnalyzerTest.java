@@ -0,0 +1,73 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.scheduler.scheduler.SchedulerFixtures.course;
+import static com.scheduler.scheduler.SchedulerFixtures.slot;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeasibilityAnalyzerTest {
+
+    private final List<TimeSlot> timeSlots = List.of(slot(1, 9), slot(2, 10));
+    private final List<Professor> professors = List.of(
+        Professor.builder().id("P001").name("Dr. Smith").maxLoad(3).build(),
+        Professor.builder().id("P002").name("Dr. Jones").maxLoad(3).build());
+    private final List<Room> rooms = List.of(
+        Room.builder().id("R001").name("Computer Lab").capacity(30).addFeature("computers").build(),
+        Room.builder().id("R002").name("Lecture Hall A").capacity(50).build());
+
+    @Test
+    void shouldExplainWhyFeatureClassNeedsMoreRoomSlotsThanExist() {
+        // Three lab courses but the only lab has two slots
+        List<Course> courses = new ArrayList<>();
+        courses.add(course("CS101", "P001", 1, 25, "computers"));
+        courses.add(course("CS102", "P001", 1, 25, "computers"));
+        courses.add(course("CS103", "P002", 1, 25, "computers"));
+        courses.add(course("CS104", "P002", 1, 25, null));
+        SchedulerConfig plain = SchedulerConfig.builder()
+            .seed(42)
+            .consistencyLevel(ConsistencyLevel.FORWARD_CHECKING)
+            .build();
+        SchedulerConfig config = plain.toBuilder().feasibilityCheck(true).build();
+
+        ScheduleResult result = new BacktrackingScheduler(config).schedule(courses, professors, rooms, timeSlots);
+        ScheduleResult without = new BacktrackingScheduler(plain).schedule(courses, professors, rooms, timeSlots);
+
+        // The check only adds its explanation to what the search places anyway
+        assertFalse(result.isSuccess());
+        assertTrue(result.getSchedule().getScheduledCoursesCount() > 0);
+        assertEquals(without.getSchedule().getAssignments(), result.getSchedule().getAssignments());
+        assertEquals(without.getUnscheduledCourses(), result.getUnscheduledCourses());
+        assertTrue(result.getMessages().contains("Infeasible: rooms with [computers] cannot hold " +
+            "CS101, CS102, CS103, which need 3 room-slots but can only use 2"));
+    }
+
+    @Test
+    void shouldNameProfessorWhoseCoursesNeedMoreSlotsThanExist() {
+        List<Course> courses = List.of(
+            course("CS101", "P001", 1, 25, null),
+            course("CS102", "P001", 1, 25, null),
+            course("CS103", "P001", 1, 25, null));
+        SearchModel model = SearchModel.build(courses, professors, rooms,
+            TimeSlotUniverse.of(timeSlots), ConstraintValidator.withDefaultConstraints(), null);
+
+        assertEquals("Infeasible: professor P001 cannot teach CS101, CS102, CS103, which need 3 slots but can only use 2",
+            new FeasibilityAnalyzer(model).findBottleneck());
+    }
+
+    @Test
+    void shouldPassFeasibleInstance() {
+        List<Course> courses = List.of(
+            course("CS101", "P001", 1, 25, "computers"),
+            course("CS102", "P002", 1, 25, null));
+        SearchModel model = SearchModel.build(courses, professors, rooms,
+            TimeSlotUniverse.of(timeSlots), ConstraintValidator.withDefaultConstraints(), null);
+
+        assertNull(new FeasibilityAnalyzer(model).findBottleneck());
+    }
+}
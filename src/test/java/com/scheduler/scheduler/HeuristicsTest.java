@@ -0,0 +1,68 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.domain.Course;
+import com.scheduler.domain.Room;
+import com.scheduler.domain.RoomIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeuristicsTest {
+
+    @Test
+    void shouldOrderCoursesByEnrollmentThenDurationThenFeaturesDescending() {
+        Course small = course("CS101", 30, 1, 0);
+        Course large = course("CS102", 90, 1, 0);
+        Course largeLong = course("CS103", 90, 2, 0);
+        Course largeLongLab = course("CS104", 90, 2, 2);
+
+        List<Course> ordered = Heuristics.orderCoursesByDifficulty(
+            List.of(small, large, largeLong, largeLongLab));
+
+        assertEquals(List.of(largeLongLab, largeLong, large, small), ordered);
+    }
+
+    @Test
+    void shouldOrderRoomsFromIndexLikeFullSort() {
+        Random random = new Random(7);
+        List<Room> rooms = new ArrayList<>();
+        for (int r = 0; r < 200; r++) {
+            Room.Builder builder = Room.builder()
+                .id("R" + r)
+                .name("Room " + r)
+                .capacity(10 * (1 + random.nextInt(12)));
+            for (int f = 0; f < 3; f++) {
+                if (random.nextBoolean()) {
+                    builder.addFeature("feature" + f);
+                }
+            }
+            rooms.add(builder.build());
+        }
+        RoomIndex index = RoomIndex.of(rooms);
+
+        for (int enrollment = 5; enrollment <= 130; enrollment += 25) {
+            for (int features = 0; features <= 3; features++) {
+                Course course = course("CS" + enrollment, enrollment, 1, features);
+                assertEquals(Heuristics.orderRoomsByFit(rooms, course),
+                    Heuristics.orderRoomsByFit(index, course, null));
+            }
+        }
+    }
+
+    private static Course course(String id, int enrollment, int duration, int features) {
+        Course.Builder builder = Course.builder()
+            .id(id)
+            .name(id)
+            .duration(duration)
+            .expectedEnrollment(enrollment)
+            .professorId("P001");
+        for (int i = 0; i < features; i++) {
+            builder.addRequiredFeature("feature" + i);
+        }
+        return builder.build();
+    }
+}
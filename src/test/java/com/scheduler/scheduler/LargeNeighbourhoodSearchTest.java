@@ -0,0 +1,94 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.scheduler.scheduler.SchedulerFixtures.course;
+import static com.scheduler.scheduler.SchedulerFixtures.slot;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LargeNeighbourhoodSearchTest {
+
+    private List<TimeSlot> timeSlots;
+    private List<Professor> professors;
+    private List<Room> rooms;
+    private List<Course> courses;
+
+    @BeforeEach
+    void setUp() {
+        TimeSlot nine = slot(1, 9);
+        TimeSlot ten = slot(2, 10);
+        TimeSlot eleven = slot(3, 11);
+        timeSlots = List.of(nine, ten, eleven);
+        professors = List.of(
+            Professor.builder().id("P001").name("Dr. Smith").maxLoad(1).build(),
+            Professor.builder().id("P002").name("Dr. Jones").maxLoad(1).build(),
+            Professor.builder().id("P003").name("Dr. Brown").maxLoad(1)
+                .addUnavailableTimeSlot(ten).addUnavailableTimeSlot(eleven).build());
+        rooms = List.of(
+            Room.builder().id("R001").name("Lecture Hall A").capacity(50).build(),
+            Room.builder().id("R002").name("Seminar Room").capacity(20).build());
+
+        // The largest course takes the only slot the second one can use
+        courses = List.of(
+            course("CS101", "P001", 45),
+            course("CS102", "P002", 30),
+            course("CS103", "P003", 40));
+    }
+
+    @Test
+    void shouldLeaveCourseUnscheduledWithoutRepair() {
+        ScheduleResult result = new BacktrackingScheduler(SchedulerConfig.builder().seed(42).build())
+            .schedule(courses, professors, rooms, timeSlots);
+
+        assertEquals(List.of("CS103"), result.getUnscheduledCourses());
+    }
+
+    @Test
+    void shouldPlaceUnscheduledCourseByRebuildingItsNeighbourhood() {
+        SchedulerConfig config = SchedulerConfig.builder()
+            .seed(42)
+            .consistencyLevel(ConsistencyLevel.FORWARD_CHECKING)
+            .maxIterations(2)
+            .repairMillis(5000)
+            .build();
+
+        ScheduleResult result = new BacktrackingScheduler(config).schedule(courses, professors, rooms, timeSlots);
+
+        assertTrue(result.isSuccess());
+        assertTrue(result.getUnscheduledCourses().isEmpty());
+        assertEquals(3, result.getSchedule().getScheduledCoursesCount());
+        assertEquals(List.of(timeSlots.get(0)),
+            result.getSchedule().getAssignment("CS103").orElseThrow().getTimeSlots());
+    }
+
+    @Test
+    void shouldRepairWithinTheTimeout() {
+        // Dr. Green can only teach at 9:00, so one of the two courses never fits
+        // and repair runs until its time is up
+        List<Professor> busy = List.of(Professor.builder().id("P004").name("Dr. Green").maxLoad(2)
+            .addUnavailableTimeSlot(timeSlots.get(1)).addUnavailableTimeSlot(timeSlots.get(2)).build());
+        SchedulerConfig config = SchedulerConfig.builder()
+            .seed(42)
+            .timeoutMillis(1000)
+            .repairMillis(500)
+            .build();
+
+        ScheduleResult result = new BacktrackingScheduler(config).schedule(
+            List.of(course("CS201", "P004", 20), course("CS202", "P004", 20)), busy, rooms, timeSlots);
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, result.getUnscheduledCourses().size());
+        assertTrue(result.getExecutionTimeMillis() < 3000, result.getExecutionTimeMillis() + " ms");
+    }
+
+    @Test
+    void shouldRejectRepairTimeNotShorterThanTheTimeout() {
+        SchedulerConfig.Builder builder = SchedulerConfig.builder().timeoutMillis(500).repairMillis(500);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+}
@@ -0,0 +1,115 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.*;
+import com.scheduler.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.scheduler.scheduler.SchedulerFixtures.slot;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalSearchOptimizerTest {
+
+    private TimeSlot nine;
+    private TimeSlot ten;
+    private List<Professor> professors;
+    private List<Room> rooms;
+    private List<Course> courses;
+
+    @BeforeEach
+    void setUp() {
+        nine = slot(1, 9);
+        ten = slot(2, 10);
+        professors = List.of(
+            Professor.builder().id("P001").name("Dr. Smith").maxLoad(2).build(),
+            Professor.builder().id("P002").name("Dr. Jones").maxLoad(2).build());
+        rooms = List.of(Room.builder().id("R001").name("Lecture Hall A").capacity(50).build());
+
+        // The larger course is placed first and takes the early slot the other course prefers
+        courses = List.of(
+            Course.builder().id("CS101").name("Introduction to Programming").duration(1)
+                .expectedEnrollment(40).professorId("P001").build(),
+            Course.builder().id("CS102").name("Discrete Mathematics").duration(1)
+                .expectedEnrollment(20).professorId("P002").addPreferredTimeWindow(nine).build());
+    }
+
+    @Test
+    void shouldNotOptimizeByDefault() {
+        ScheduleResult result = new BacktrackingScheduler(SchedulerConfig.builder().seed(42).build())
+            .schedule(courses, professors, rooms, List.of(nine, ten));
+
+        assertTrue(result.getImprovementCurve().isEmpty());
+        assertEquals(List.of(ten), result.getSchedule().getAssignment("CS102").orElseThrow().getTimeSlots());
+    }
+
+    @Test
+    void shouldSwapCoursesIntoPreferredWindows() {
+        SchedulerConfig config = SchedulerConfig.builder().seed(42).optimizationMillis(5000).build();
+
+        ScheduleResult result = new BacktrackingScheduler(config)
+            .schedule(courses, professors, rooms, List.of(nine, ten));
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getSchedule().getScheduledCoursesCount());
+        assertEquals(List.of(nine), result.getSchedule().getAssignment("CS102").orElseThrow().getTimeSlots());
+        assertEquals(List.of(ten), result.getSchedule().getAssignment("CS101").orElseThrow().getTimeSlots());
+        List<ImprovementStep> curve = result.getImprovementCurve();
+        assertEquals(1, curve.get(0).getPenalty());
+        assertEquals(0, curve.get(curve.size() - 1).getPenalty());
+        assertTrue(result.getMessages().contains("Local search reduced soft constraint violations from 1 to 0"));
+    }
+
+    @Test
+    void shouldKeepPlacementsWithoutCandidateBusy() {
+        // CS102 would rather be at nine, but an assignment from outside the model holds the room then
+        List<Course> modelled = List.of(courses.get(1));
+        ConstraintValidator validator = ConstraintValidator.withDefaultConstraints();
+        TimeSlotUniverse universe = TimeSlotUniverse.of(List.of(nine, ten));
+        SearchModel model = SearchModel.build(modelled, professors, rooms, universe, validator, null);
+        Schedule schedule = new Schedule(universe);
+        schedule.addAssignment(new CourseAssignment(courses.get(0), rooms.get(0), List.of(nine)));
+        schedule.addAssignment(new CourseAssignment(courses.get(1), rooms.get(0), List.of(ten)));
+
+        new LocalSearchOptimizer(model, validator, 42).optimize(schedule, 200);
+
+        assertEquals(List.of(ten), schedule.getAssignment("CS102").orElseThrow().getTimeSlots());
+        assertEquals(List.of(nine), schedule.getAssignment("CS101").orElseThrow().getTimeSlots());
+    }
+
+    @Test
+    void shouldSkipOptimizationForCustomScheduleConstraint() {
+        Constraint anything = new Constraint() {
+            @Override
+            public ValidationResult validate(
+                Course course, Room room, TimeSlot timeSlot, Professor professor, Schedule schedule) {
+                return ValidationResult.success(getName());
+            }
+
+            @Override
+            public String getName() {
+                return "Anything";
+            }
+
+            @Override
+            public boolean isHardConstraint() {
+                return true;
+            }
+        };
+        ConstraintValidator validator = new ConstraintValidator(List.of(
+            new ProfessorAvailabilityConstraint(),
+            new RoomAvailabilityConstraint(),
+            new PreferredTimeWindowConstraint(),
+            anything));
+        SchedulerConfig config = SchedulerConfig.builder().seed(42).optimizationMillis(5000).build();
+
+        ScheduleResult result = new BacktrackingScheduler(config, validator)
+            .schedule(courses, professors, rooms, List.of(nine, ten));
+
+        assertFalse(LocalSearchOptimizer.supports(validator));
+        assertTrue(result.getImprovementCurve().isEmpty());
+        assertTrue(result.getMessages().contains(
+            "Local search skipped: the validator checks schedule constraints it does not enforce"));
+    }
+}
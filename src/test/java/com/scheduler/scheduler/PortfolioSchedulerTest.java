@@ -0,0 +1,177 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortfolioSchedulerTest {
+
+    private List<Course> courses;
+    private List<Professor> professors;
+    private List<Room> rooms;
+    private List<TimeSlot> timeSlots;
+
+    @BeforeEach
+    void setUp() {
+        timeSlots = new ArrayList<>();
+        int index = 1;
+        for (DayOfWeek day : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY)) {
+            for (int hour = 9; hour < 12; hour++) {
+                timeSlots.add(TimeSlot.builder()
+                    .slotIndex(index++)
+                    .dayOfWeek(day)
+                    .startTime(LocalTime.of(hour, 0))
+                    .endTime(LocalTime.of(hour + 1, 0))
+                    .build());
+            }
+        }
+
+        professors = new ArrayList<>();
+        for (int p = 1; p <= 4; p++) {
+            professors.add(Professor.builder()
+                .id("P00" + p)
+                .name("Professor " + p)
+                .maxLoad(6)
+                .build());
+        }
+
+        rooms = List.of(
+            Room.builder().id("R001").name("Hall A").capacity(60).addFeature("projector").build(),
+            Room.builder().id("R002").name("Hall B").capacity(60).addFeature("projector").build(),
+            Room.builder().id("R003").name("Room C").capacity(30).build()
+        );
+
+        courses = new ArrayList<>();
+        for (int c = 1; c <= 10; c++) {
+            courses.add(Course.builder()
+                .id("CS" + (100 + c))
+                .name("Course " + c)
+                .duration(c % 3 == 0 ? 2 : 1)
+                .expectedEnrollment(c % 2 == 0 ? 45 : 25)
+                .professorId("P00" + (1 + c % 4))
+                .build());
+        }
+    }
+
+    @Test
+    void shouldScheduleAllCoursesAndReportEveryWorker() {
+        ScheduleResult result = new PortfolioScheduler(config(42, 4))
+            .schedule(courses, professors, rooms, timeSlots);
+
+        assertTrue(result.isSuccess());
+        assertEquals(courses.size(), result.getSchedule().getScheduledCoursesCount());
+        assertEquals(4, result.getWorkerStatistics().size());
+
+        List<WorkerStatistics> winners = result.getWorkerStatistics().stream()
+            .filter(WorkerStatistics::isWinner)
+            .toList();
+        assertEquals(1, winners.size());
+        assertTrue(winners.get(0).isComplete());
+        assertEquals(
+            result.getWorkerStatistics().stream().mapToLong(WorkerStatistics::getNodesExplored).sum(),
+            result.getNodesExplored());
+    }
+
+    @Test
+    void shouldReproduceResultForSameSeedAndWorkerCount() {
+        SchedulerConfig config = config(7, 4).toBuilder()
+            .consistencyLevel(ConsistencyLevel.FORWARD_CHECKING)
+            .build();
+
+        ScheduleResult first = new PortfolioScheduler(config).schedule(courses, professors, rooms, timeSlots);
+        ScheduleResult second = new PortfolioScheduler(config).schedule(courses, professors, rooms, timeSlots);
+
+        assertEquals(first.getSchedule().getAssignments(), second.getSchedule().getAssignments());
+        assertEquals(winnerOf(first), winnerOf(second));
+    }
+
+    @Test
+    void shouldKeepConfiguredSeedForFirstWorker() {
+        long[] seeds = PortfolioScheduler.deriveSeeds(42, 3);
+
+        assertEquals(42, seeds[0]);
+        assertArrayEquals(seeds, PortfolioScheduler.deriveSeeds(42, 3));
+        assertNotEquals(seeds[1], seeds[2]);
+    }
+
+    @Test
+    void shouldKeepMostCompletePartialScheduleWhenNoWorkerCompletes() {
+        List<Course> withOrphan = new ArrayList<>(courses);
+        withOrphan.add(Course.builder()
+            .id("CS999")
+            .name("Orphan")
+            .duration(1)
+            .expectedEnrollment(10)
+            .professorId("UNKNOWN")
+            .build());
+
+        ScheduleResult result = new PortfolioScheduler(config(42, 3))
+            .schedule(withOrphan, professors, rooms, timeSlots);
+
+        assertTrue(result.getUnscheduledCourses().contains("CS999"));
+        int best = result.getWorkerStatistics().stream()
+            .mapToInt(WorkerStatistics::getScheduledCourses)
+            .max()
+            .orElseThrow();
+        assertEquals(best, result.getSchedule().getScheduledCoursesCount());
+        assertTrue(result.getWorkerStatistics().stream().noneMatch(WorkerStatistics::isComplete));
+    }
+
+    @Test
+    void shouldBreakTiesBetweenMultiSlotStartsRandomly() {
+        List<Course> lab = List.of(courses.get(2));
+        TimeSlotUniverse universe = TimeSlotUniverse.of(timeSlots);
+        ConstraintValidator validator = ConstraintValidator.withDefaultConstraints();
+        int[] deterministic = startsOf(SearchModel.build(lab, professors, rooms, universe, validator, null));
+
+        boolean reordered = false;
+        for (long seed = 1; seed <= 20; seed++) {
+            int[] randomized = startsOf(SearchModel.build(lab, professors, rooms, universe, validator, new Random(seed)));
+            assertArrayEquals(deterministic, Arrays.stream(randomized).sorted().distinct().toArray());
+            reordered |= !Arrays.equals(deterministic, randomized);
+        }
+        assertTrue(reordered);
+    }
+
+    @Test
+    void shouldRejectNonPositiveWorkerCount() {
+        assertThrows(IllegalArgumentException.class, () -> new PortfolioScheduler(config(42, 0)));
+    }
+
+    private static SchedulerConfig config(long seed, int workers) {
+        return SchedulerConfig.builder()
+            .timeoutMillis(10000)
+            .seed(seed)
+            .workers(workers)
+            .build();
+    }
+
+    /**
+     * Returns the distinct starts of the only course's candidates in trial order.
+     */
+    private static int[] startsOf(SearchModel model) {
+        return IntStream.range(0, model.candidateCount(0))
+            .map(candidate -> model.startOrdinal(0, candidate))
+            .distinct()
+            .toArray();
+    }
+
+    private static int winnerOf(ScheduleResult result) {
+        return result.getWorkerStatistics().stream()
+            .filter(WorkerStatistics::isWinner)
+            .findFirst()
+            .orElseThrow()
+            .getWorker();
+    }
+}
@@ -0,0 +1,97 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.ConstraintValidator;
+import com.scheduler.domain.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static com.scheduler.scheduler.SchedulerFixtures.course;
+import static com.scheduler.scheduler.SchedulerFixtures.slot;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestartingSearchTest {
+
+    @Test
+    void shouldFollowLubySequence() {
+        long[] terms = LongStream.rangeClosed(1, 15).map(i -> RestartingSearch.luby((int) i)).toArray();
+
+        assertArrayEquals(new long[] {1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8}, terms);
+        assertEquals(400, RestartingSearch.cutoff(RestartStrategy.LUBY, 100, 6));
+        assertEquals(225, RestartingSearch.cutoff(RestartStrategy.GEOMETRIC, 100, 2));
+        assertEquals(Long.MAX_VALUE, RestartingSearch.cutoff(RestartStrategy.NONE, 100, 0));
+    }
+
+    @Test
+    void shouldPlaceFailingCourseFirstAfterRestart() {
+        TimeSlot nine = slot(1, 9);
+        TimeSlot ten = slot(2, 10);
+        TimeSlot eleven = slot(3, 11);
+        List<Professor> professors = List.of(
+            Professor.builder().id("P001").name("Dr. Smith").maxLoad(1).build(),
+            Professor.builder().id("P002").name("Dr. Jones").maxLoad(1).build(),
+            Professor.builder().id("P003").name("Dr. Brown").maxLoad(1)
+                .addUnavailableTimeSlot(ten).addUnavailableTimeSlot(eleven).build());
+        List<Room> rooms = List.of(
+            Room.builder().id("R001").name("Lecture Hall A").capacity(50).build(),
+            Room.builder().id("R002").name("Seminar Room").capacity(20).build());
+        // The largest course goes first and wipes out the only value of the last one
+        List<Course> courses = List.of(
+            course("CS101", "P001", 45),
+            course("CS102", "P002", 30),
+            course("CS103", "P003", 40));
+        SchedulerConfig config = SchedulerConfig.builder()
+            .seed(42)
+            .consistencyLevel(ConsistencyLevel.FORWARD_CHECKING)
+            .restartStrategy(RestartStrategy.LUBY)
+            .restartBase(1)
+            .build();
+
+        ScheduleResult result = new BacktrackingScheduler(config).schedule(courses, professors, rooms, List.of(nine, ten, eleven));
+        ScheduleResult again = new BacktrackingScheduler(config).schedule(courses, professors, rooms, List.of(nine, ten, eleven));
+
+        assertTrue(result.isSuccess());
+        assertEquals(3, result.getSchedule().getScheduledCoursesCount());
+        assertEquals(List.of(nine), result.getSchedule().getAssignment("CS103").orElseThrow().getTimeSlots());
+        assertTrue(result.getMessages().stream().anyMatch(message -> message.startsWith("Restarted the search")));
+        assertEquals(result.getSchedule().getAssignments(), again.getSchedule().getAssignments());
+    }
+
+    @Test
+    void shouldPermuteOnlyTiesOfTheValueOrder() {
+        TimeSlot nine = slot(1, 9);
+        TimeSlot ten = slot(2, 10);
+        TimeSlot eleven = slot(3, 11);
+        List<Professor> professors = List.of(Professor.builder().id("P001").name("Dr. Smith").maxLoad(1).build());
+        // Two equally fitting rooms ahead of a larger one
+        List<Room> rooms = List.of(
+            Room.builder().id("R001").name("Room A").capacity(30).build(),
+            Room.builder().id("R002").name("Room B").capacity(30).build(),
+            Room.builder().id("R003").name("Lecture Hall").capacity(80).build());
+        Course course = Course.builder().id("CS101").name("Course CS101").professorId("P001")
+            .expectedEnrollment(25).duration(1).addPreferredTimeWindow(eleven).build();
+        SearchModel model = SearchModel.build(List.of(course), professors, rooms,
+            TimeSlotUniverse.of(List.of(nine, ten, eleven)), ConstraintValidator.withDefaultConstraints(), null);
+
+        Set<String> firstRooms = new HashSet<>();
+        Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            int[] order = model.shuffledValueOrder(random)[0];
+
+            assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8}, Arrays.stream(order).sorted().toArray());
+            for (int block = 0; block < 3; block++) {
+                // Each room's values stay together, preferred slot first
+                assertEquals(eleven, model.run(0, order[block * 3]).get(0));
+                assertEquals(model.roomIndex(0, order[block * 3]), model.roomIndex(0, order[block * 3 + 2]));
+            }
+            assertEquals("R003", model.room(0, order[8]).getId());
+            firstRooms.add(model.room(0, order[0]).getId());
+        }
+        assertEquals(Set.of("R001", "R002"), firstRooms);
+    }
+}
@@ -0,0 +1,52 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.domain.Course;
+import com.scheduler.domain.TimeSlot;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Factories for the small courses and Monday slots the search tests build
+ * their instances from.
+ */
+final class SchedulerFixtures {
+
+    private SchedulerFixtures() {
+    }
+
+    /**
+     * Returns a one-slot course without required features.
+     */
+    static Course course(String id, String professorId, int enrollment) {
+        return course(id, professorId, 1, enrollment, null);
+    }
+
+    /**
+     * Returns a course requiring {@code feature}, or no feature if it is null.
+     */
+    static Course course(String id, String professorId, int duration, int enrollment, String feature) {
+        Course.Builder builder = Course.builder()
+            .id(id)
+            .name(id)
+            .duration(duration)
+            .expectedEnrollment(enrollment)
+            .professorId(professorId);
+        if (feature != null) {
+            builder.addRequiredFeature(feature);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the Monday slot from {@code hour} to the next full hour.
+     */
+    static TimeSlot slot(int index, int hour) {
+        return TimeSlot.builder()
+            .slotIndex(index)
+            .dayOfWeek(DayOfWeek.MONDAY)
+            .startTime(LocalTime.of(hour, 0))
+            .endTime(LocalTime.of(hour + 1, 0))
+            .build();
+    }
+}
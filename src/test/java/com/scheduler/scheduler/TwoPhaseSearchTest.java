@@ -0,0 +1,123 @@
+package com.scheduler.scheduler;
+
+import com.scheduler.constraints.*;
+import com.scheduler.domain.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.scheduler.scheduler.SchedulerFixtures.course;
+import static com.scheduler.scheduler.SchedulerFixtures.slot;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoPhaseSearchTest {
+
+    private final List<Professor> professors = List.of(
+        Professor.builder().id("P001").name("Dr. Smith").maxLoad(3).build(),
+        Professor.builder().id("P002").name("Dr. Jones").maxLoad(3).build(),
+        Professor.builder().id("P003").name("Dr. Brown").maxLoad(3).build());
+    private final List<Room> rooms = List.of(
+        Room.builder().id("R001").name("Computer Lab").capacity(30).addFeature("computers").build(),
+        Room.builder().id("R002").name("Lecture Hall A").capacity(40).build());
+    private final SchedulerConfig config = SchedulerConfig.builder()
+        .seed(42)
+        .twoPhase(true)
+        .build();
+
+    @Test
+    void shouldMoveMatchedCourseToFreeRoomForLaterCourse() {
+        // CS101 is placed first and takes the lab, the tighter room; only the lab fits CS102
+        List<Course> courses = List.of(
+            course("CS101", "P001", 1, 28, null),
+            course("CS102", "P002", 1, 20, "computers"));
+
+        ScheduleResult result = new BacktrackingScheduler(config)
+            .schedule(courses, professors, rooms, List.of(slot(1, 9)));
+
+        assertTrue(result.isSuccess());
+        assertEquals(2, result.getNodesExplored());
+        assertEquals("R002", roomOf(result, "CS101"));
+        assertEquals("R001", roomOf(result, "CS102"));
+    }
+
+    @Test
+    void shouldHoldOneRoomAcrossRunOfMultiSlotCourse() {
+        List<Course> courses = List.of(
+            course("CS101", "P001", 1, 28, null),
+            course("CS102", "P002", 2, 20, "computers"));
+
+        ScheduleResult result = new BacktrackingScheduler(config)
+            .schedule(courses, professors, rooms, List.of(slot(1, 9), slot(2, 10)));
+
+        assertTrue(result.isSuccess());
+        assertEquals("R002", roomOf(result, "CS101"));
+        assertEquals("R001", roomOf(result, "CS102"));
+        assertEquals(2, result.getSchedule().getAssignment("CS102").orElseThrow().getTimeSlots().size());
+    }
+
+    @Test
+    void shouldKeepBestPartialScheduleWhenRoomsRunOut() {
+        List<Course> courses = List.of(
+            course("CS101", "P001", 1, 25, null),
+            course("CS102", "P002", 1, 25, null),
+            course("CS103", "P003", 1, 25, null));
+
+        ScheduleResult result = new BacktrackingScheduler(config)
+            .schedule(courses, professors, rooms, List.of(slot(1, 9)));
+
+        assertFalse(result.isSuccess());
+        assertEquals(2, result.getSchedule().getScheduledCoursesCount());
+        assertEquals(List.of("CS103"), result.getUnscheduledCourses());
+        assertTrue(result.getMessages().contains("No complete schedule exists for the 3 schedulable courses; " +
+            "keeping the best partial schedule"));
+    }
+
+    @Test
+    void shouldFallBackToCompleteSearchForCustomScheduleConstraint() {
+        // Allows one course per slot across all rooms, which the matching cannot see
+        Constraint oneCoursePerSlot = new Constraint() {
+            @Override
+            public ValidationResult validate(
+                Course course, Room room, TimeSlot timeSlot, Professor professor, Schedule schedule) {
+                boolean free = schedule.getAssignments().stream()
+                    .noneMatch(assignment -> assignment.getTimeSlots().contains(timeSlot));
+                return free ? ValidationResult.success(getName())
+                    : ValidationResult.failure(getName(), "Slot already taken");
+            }
+
+            @Override
+            public String getName() {
+                return "One Course Per Slot";
+            }
+
+            @Override
+            public boolean isHardConstraint() {
+                return true;
+            }
+        };
+        ConstraintValidator validator = new ConstraintValidator(List.of(
+            new ProfessorAvailabilityConstraint(),
+            new RoomAvailabilityConstraint(),
+            new RoomCapacityConstraint(),
+            new RoomFeaturesConstraint(),
+            new ProfessorLoadConstraint(),
+            oneCoursePerSlot));
+        List<Course> courses = List.of(
+            course("CS101", "P001", 1, 20, null),
+            course("CS102", "P002", 1, 20, null));
+
+        ScheduleResult result = new BacktrackingScheduler(config, validator)
+            .schedule(courses, professors, rooms, List.of(slot(1, 9), slot(2, 10)));
+
+        assertTrue(result.isSuccess());
+        assertNotEquals(
+            result.getSchedule().getAssignment("CS101").orElseThrow().getTimeSlots(),
+            result.getSchedule().getAssignment("CS102").orElseThrow().getTimeSlots());
+        assertTrue(result.getMessages().contains(
+            "Two-phase search ignored: the validator checks schedule constraints it does not enforce"));
+    }
+
+    private static String roomOf(ScheduleResult result, String courseId) {
+        return result.getSchedule().getAssignment(courseId).orElseThrow().getRoom().getId();
+    }
+}
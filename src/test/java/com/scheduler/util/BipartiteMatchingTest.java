@@ -0,0 +1,33 @@
+package com.scheduler.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BipartiteMatchingTest {
+
+    @Test
+    void shouldFindPerfectMatchingThroughAugmentingPaths() {
+        // Greedy matching of 0-0 and 1-1 must be rerouted to match vertex 2
+        int[][] adjacency = {{0, 1}, {1, 2}, {0}};
+
+        BipartiteMatching matching = BipartiteMatching.maximum(adjacency, 3);
+
+        assertEquals(3, matching.size());
+        assertEquals(0, matching.rightOf(2));
+        assertEquals(1, matching.rightOf(0));
+        assertEquals(2, matching.rightOf(1));
+        assertArrayEquals(new boolean[3], matching.deficientSet());
+    }
+
+    @Test
+    void shouldReturnHallViolatorWhenLeftSideCannotBeMatched() {
+        // Vertices 0, 1 and 2 share the two right vertices 0 and 1
+        int[][] adjacency = {{0, 1}, {0}, {1}, {1, 2}};
+
+        BipartiteMatching matching = BipartiteMatching.maximum(adjacency, 3);
+
+        assertEquals(3, matching.size());
+        assertArrayEquals(new boolean[] {true, true, true, false}, matching.deficientSet());
+    }
+}